@@ -0,0 +1,51 @@
+package com.example.demo.jmh;
+
+import com.example.demo.Config.JwtProperties;
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Services.JWTService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class Fixtures {
+
+    // same key as application-test.properties
+    static final String JWT_SECRET = "dGVzdC1vbmx5LWp3dC1zaWduaW5nLWtleS0wMTIzNDU2Nzg5";
+
+    private Fixtures() {
+    }
+
+    static JWTService jwtService() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(JWT_SECRET);
+        return new JWTService(properties);
+    }
+
+    /** Fully populated, detached tasks with realistic field lengths. Seeded, so every run sees the same data. */
+    static List<TaskEntity> tasks(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        LocalDate today = LocalDate.of(2025, 1, 1);
+        List<TaskEntity> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            TaskEntity task = new TaskEntity();
+            task.setId(i);
+            task.setUserName("user" + random.nextInt(1_000));
+            task.setTaskName("Prepare quarterly report " + i);
+            task.setDescription("Collect the numbers from finance, update the dashboard and send the summary to the team #" + i);
+            task.setStatus(statuses[random.nextInt(statuses.length)]);
+            task.setPriority(priorities[random.nextInt(priorities.length)]);
+            task.setDueDate(today.plusDays(random.nextInt(365)));
+            task.setAssignedTo("user" + random.nextInt(1_000));
+            task.setVersion(random.nextInt(10));
+            task.setUpdatedAt(today.atStartOfDay().plusSeconds(random.nextInt(86_400 * 365)));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
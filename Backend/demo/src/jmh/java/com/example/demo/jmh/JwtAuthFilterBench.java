@@ -0,0 +1,77 @@
+package com.example.demo.jmh;
+
+import com.example.demo.Config.JwtAuthFilter;
+import com.example.demo.Services.JWTService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtAuthFilter} end to end on mock servlet objects: header parsing, token verification,
+ * user lookup and security-context population, then the chain. The user lookup is an in-memory
+ * stub, so the numbers are the filter's own overhead without the database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBench {
+
+    @Param({"valid", "missing", "badSignature"})
+    public String token;
+
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JWTService jwtService = Fixtures.jwtService();
+        UserDetails user = User.withUsername("alice").password("{noop}unused").roles("USER").build();
+        filter = new JwtAuthFilter(jwtService, username -> user, new SimpleMeterRegistry());
+
+        String valid = jwtService.getJWTToken("alice");
+        authorization = switch (token) {
+            case "valid" -> "Bearer " + valid;
+            case "missing" -> null;
+            // flip the last signature character so every call fails verification and is never cached
+            case "badSignature" -> "Bearer " + valid.substring(0, valid.length() - 1)
+                    + (valid.endsWith("A") ? "B" : "A");
+            default -> throw new IllegalArgumentException(token);
+        };
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/task/list");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
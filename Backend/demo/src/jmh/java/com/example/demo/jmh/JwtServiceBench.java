@@ -0,0 +1,63 @@
+package com.example.demo.jmh;
+
+import com.example.demo.Services.JWTService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JWTService} token issue and verification. {@code verifyCached} is the steady state for a
+ * client reusing its token; {@code verifyUncached} cycles through more distinct tokens than the
+ * verified-token cache holds, so nearly every call pays for the HMAC and JSON parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBench {
+
+    private static final int DISTINCT_TOKENS = 1 << 17;
+
+    private JWTService jwtService;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtService = Fixtures.jwtService();
+        token = jwtService.getJWTToken("alice");
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = jwtService.getJWTToken("user" + i);
+        }
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtService.getJWTToken("alice");
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        next = (next + 1) & (DISTINCT_TOKENS - 1);
+        return jwtService.verifyToken(tokens[next]);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.Config;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JWT signing configuration. Secrets are Base64-encoded and must decode to at least 256 bits.
+ * <p>
+ * A single {@code jwt.secret} is enough for one key. To rotate, list every live key under
+ * {@code jwt.keys.<kid>} and point {@code jwt.active-kid} at the one new tokens are signed with;
+ * old keys keep verifying until the tokens signed with them have expired and can then be removed.
+ */
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    public static final String DEFAULT_KID = "default";
+
+    private String secret;
+    private Map<String, String> keys = new LinkedHashMap<>();
+    private String activeKid;
+    private Duration expiration = Duration.ofHours(1);
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public Map<String, String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(Map<String, String> keys) {
+        this.keys = keys;
+    }
+
+    public String getActiveKid() {
+        return activeKid;
+    }
+
+    public void setActiveKid(String activeKid) {
+        this.activeKid = activeKid;
+    }
+
+    public Duration getExpiration() {
+        return expiration;
+    }
+
+    public void setExpiration(Duration expiration) {
+        this.expiration = expiration;
+    }
+}
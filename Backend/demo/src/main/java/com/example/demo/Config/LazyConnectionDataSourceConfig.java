@@ -0,0 +1,37 @@
+package com.example.demo.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Single-pool counterpart of {@link ReplicaDataSourceConfig}, active with
+ * {@code app.datasource.lazy-connections=true} and no replica configured. A transaction only
+ * borrows a pooled connection at its first statement, so read-only transactions answered from
+ * the caches, or waiting on another thread's cache load, do not hold one.
+ */
+@Configuration
+@ConditionalOnExpression("${app.datasource.lazy-connections:false} and '${app.datasource.replica.url:}' == ''")
+public class LazyConnectionDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource) {
+        return new LazyConnectionDataSourceProxy(primaryDataSource);
+    }
+}
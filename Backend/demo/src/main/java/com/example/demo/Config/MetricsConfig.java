@@ -0,0 +1,40 @@
+package com.example.demo.Config;
+
+import com.example.demo.Services.CaffeineTaskCache;
+import com.example.demo.Services.UserDetailsCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters that Spring Boot does not bind on its own. HTTP request timers, JVM and
+ * HikariCP pool metrics come from the actuator auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // per-request statement counts and JDBC time, see QueryMetricsFilter
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHooks() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryStatsInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryTimingListener.class.getName());
+        };
+    }
+
+    // the caches are plain Caffeine instances rather than Spring caches, so they are bound by hand
+    @Bean
+    public MeterBinder cacheMetrics(ObjectProvider<CaffeineTaskCache> taskCache, UserDetailsCache userDetailsCache) {
+        return registry -> {
+            taskCache.ifAvailable(cache -> {
+                CaffeineCacheMetrics.monitor(registry, cache.getNativeTaskCache(), "tasks");
+                CaffeineCacheMetrics.monitor(registry, cache.getNativeUserTaskCache(), "userTasks");
+            });
+            CaffeineCacheMetrics.monitor(registry, userDetailsCache.getNativeCache(), "userDetails");
+        };
+    }
+}
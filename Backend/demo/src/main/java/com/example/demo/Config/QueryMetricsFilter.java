@@ -0,0 +1,113 @@
+package com.example.demo.Config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Collects the SQL each request issues into a {@link QueryStats} scope and checks it against the
+ * query budget: more than {@code app.query-budget.max-statements} statements (usually an N+1) or
+ * one statement slower than {@code app.query-budget.slow-query-threshold} is logged as a warning,
+ * or fails the request when {@code app.query-budget.fail-on-violation} is set (tests). The stats
+ * are also recorded per method and URI pattern and left on the request under
+ * {@link #STATS_ATTRIBUTE}.
+ * <p>
+ * Runs ahead of the security chain so the user lookup of the JWT filter is included. Work
+ * finished on another thread (streamed responses) is not counted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = QueryStats.class.getName();
+
+    private static final Logger log = LoggerFactory.getLogger(QueryMetricsFilter.class);
+    private static final double[] BUCKETS = {1, 2, 3, 5, 10, 20, 50, 100};
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final Duration slowQueryThreshold;
+    private final boolean failOnViolation;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry,
+                              @Value("${app.query-budget.max-statements:20}") int maxStatements,
+                              @Value("${app.query-budget.slow-query-threshold:500ms}") Duration slowQueryThreshold,
+                              @Value("${app.query-budget.fail-on-violation:false}") boolean failOnViolation) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.slowQueryThreshold = slowQueryThreshold;
+        this.failOnViolation = failOnViolation;
+    }
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response,
+                                    @Nonnull FilterChain filterChain) throws ServletException, IOException {
+        QueryStats.start();
+        QueryStats stats;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats = QueryStats.stop();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            record(request, stats);
+        }
+        checkBudget(request, stats);
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        String method = request.getMethod();
+        String uri = uri(request);
+        DistributionSummary.builder("hibernate.statements.per.request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("hibernate.statements.time.per.request")
+                .description("JDBC execution time of all statements of one request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getExecutionTime());
+    }
+
+    private void checkBudget(HttpServletRequest request, QueryStats stats) {
+        String violation = null;
+        if (stats.getStatements() > maxStatements) {
+            violation = "issued " + stats.getStatements() + " SQL statements, budget is " + maxStatements;
+        } else if (stats.getSlowestExecutionTime().compareTo(slowQueryThreshold) > 0) {
+            violation = "ran a statement for " + stats.getSlowestExecutionTime().toMillis() + " ms, threshold is "
+                    + slowQueryThreshold.toMillis() + " ms: " + stats.getSlowestSql();
+        }
+        if (violation == null) {
+            return;
+        }
+        String message = request.getMethod() + " " + uri(request) + " " + violation;
+        if (failOnViolation) {
+            throw new IllegalStateException("Query budget exceeded: " + message);
+        }
+        log.warn("Query budget exceeded: {}", message);
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.Config;
+
+import java.time.Duration;
+
+/**
+ * SQL statements and JDBC execution time of one unit of work on the current thread: an HTTP
+ * request (see {@link QueryMetricsFilter}) or a block of test code. Hibernate reports into the
+ * scope opened by {@link #start()} through {@link QueryStatsInspector} and
+ * {@link QueryTimingListener}; nothing is recorded while no scope is open. Scopes nest, and an
+ * inner scope's statements also count towards the outer one.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats parent;
+    private int statements;
+    private long executionNanos;
+    private long slowestNanos;
+    private String slowestSql;
+    private String preparedSql;
+    private long executionStart;
+
+    private QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // ends the innermost scope and returns what it recorded
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return new QueryStats(null);
+        }
+        if (stats.parent != null) {
+            CURRENT.set(stats.parent);
+        } else {
+            CURRENT.remove();
+        }
+        return stats;
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared(String sql) {
+        for (QueryStats stats = this; stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.preparedSql = sql;
+        }
+    }
+
+    void executionStarted() {
+        executionStart = System.nanoTime();
+    }
+
+    void executionEnded() {
+        long nanos = System.nanoTime() - executionStart;
+        for (QueryStats stats = this; stats != null; stats = stats.parent) {
+            stats.executionNanos += nanos;
+            if (nanos > stats.slowestNanos) {
+                stats.slowestNanos = nanos;
+                stats.slowestSql = preparedSql;
+            }
+        }
+    }
+
+    // statements prepared; a JDBC batch is prepared once and counts as one
+    public int getStatements() {
+        return statements;
+    }
+
+    // time spent in JDBC execute calls, excluding reading the result sets
+    public Duration getExecutionTime() {
+        return Duration.ofNanos(executionNanos);
+    }
+
+    public Duration getSlowestExecutionTime() {
+        return Duration.ofNanos(slowestNanos);
+    }
+
+    public String getSlowestSql() {
+        return slowestSql;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements in " + getExecutionTime().toMillis() + " ms";
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.Config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// counts every statement Hibernate prepares into the thread's open QueryStats scope
+public class QueryStatsInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.Config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times JDBC executions into the thread's open {@link QueryStats} scope. Hibernate creates one
+ * instance per session from {@code hibernate.session.events.auto}, hence the public no-arg
+ * constructor.
+ */
+public class QueryTimingListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ended();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ended();
+    }
+
+    private static void started() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.executionStarted();
+        }
+    }
+
+    private static void ended() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.executionEnded();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// background jobs (SSE heartbeats, outbox dispatch, search index refresh, stats reconciliation)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,19 @@
+package com.example.demo.Config;
+
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // lets query parameters use the same labels as the JSON body (?status=In Progress)
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, TaskStatus.class, (Converter<String, TaskStatus>) TaskStatus::fromValue);
+        registry.addConverter(String.class, TaskPriority.class, (Converter<String, TaskPriority>) TaskPriority::fromValue);
+    }
+}
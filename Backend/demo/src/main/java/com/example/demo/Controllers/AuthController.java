@@ -3,11 +3,17 @@ package com.example.demo.Controllers;
 import com.example.demo.DTO.LoginRequest;
 import com.example.demo.DTO.LoginResponse;
 import com.example.demo.DTO.RegisterRequest;
+import com.example.demo.Services.AuthenticatedUser;
 import com.example.demo.Services.JWTService;
+import com.example.demo.Services.LoginRateLimiter;
 import com.example.demo.Services.UserServices;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -20,11 +26,14 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JWTService jwtUtil;
     private final UserServices userService;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public AuthController(AuthenticationManager authenticationManager, JWTService jwtUtil, UserServices userService) {
+    public AuthController(AuthenticationManager authenticationManager, JWTService jwtUtil, UserServices userService,
+                          LoginRateLimiter loginRateLimiter) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.userService = userService;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @PostMapping("/register")
@@ -34,14 +43,21 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<HashMap<String, String>> login(@RequestBody LoginRequest request) {
-        authenticationManager.authenticate(
+    public ResponseEntity<HashMap<String, String>> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        if (!loginRateLimiter.tryAcquire(request.getUsername(), httpRequest.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginRateLimiter.getWindow().toSeconds()))
+                    .build();
+        }
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
-        
-        String token = jwtUtil.getJWTToken(request.getUsername());
-        String user = request.getUsername();
-        String email = userService.findUserByUsername(user).getEmail();
+        // the principal was loaded by the authentication itself, so no second users lookup
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+
+        String token = jwtUtil.getJWTToken(principal.getUsername());
+        String user = principal.getUsername();
+        String email = principal.getEmail();
         HashMap<String,String> res = new HashMap<String, String>();
         res.put("token", token);
         res.put("username", user);
@@ -0,0 +1,33 @@
+package com.example.demo.Controllers;
+
+import com.example.demo.Services.CacheStatistics;
+import com.example.demo.Services.TaskCache;
+import com.example.demo.Services.UserDetailsCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping(value="/api/cache")
+public class CacheController {
+
+    private final TaskCache taskCache;
+    private final UserDetailsCache userDetailsCache;
+
+    public CacheController(TaskCache taskCache, UserDetailsCache userDetailsCache) {
+        this.taskCache = taskCache;
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, CacheStatistics>> stats() {
+        Map<String, CacheStatistics> stats = new LinkedHashMap<>(taskCache.stats());
+        stats.put("userDetails", CacheStatistics.of(userDetailsCache.getNativeCache().estimatedSize(),
+                userDetailsCache.stats()));
+        return ResponseEntity.ok(stats);
+    }
+}
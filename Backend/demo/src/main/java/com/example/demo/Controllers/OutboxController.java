@@ -0,0 +1,24 @@
+package com.example.demo.Controllers;
+
+import com.example.demo.Services.OutboxStats;
+import com.example.demo.Services.TaskOutboxDispatcher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(value="/api/outbox")
+public class OutboxController {
+
+    private final TaskOutboxDispatcher dispatcher;
+
+    public OutboxController(TaskOutboxDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<OutboxStats> stats() {
+        return ResponseEntity.ok(dispatcher.stats());
+    }
+}
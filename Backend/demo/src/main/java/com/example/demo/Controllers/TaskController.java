@@ -1,11 +1,35 @@
 package com.example.demo.Controllers;
 
+import com.example.demo.DTO.BulkItemResult;
+import com.example.demo.DTO.TaskPageResponse;
+import com.example.demo.DTO.TaskPatchRequest;
+import com.example.demo.DTO.TaskRequest;
+import com.example.demo.DTO.TaskResponse;
+import com.example.demo.DTO.TaskSearchResponse;
+import com.example.demo.DTO.TaskStatsResponse;
 import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Mappers.TaskMapper;
+import com.example.demo.Services.TaskEventStream;
+import com.example.demo.Services.TaskSearchService;
 import com.example.demo.Services.TaskService;
+import com.example.demo.Services.TaskStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,33 +42,109 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskEventStream taskEventStream;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    // streamed: the array is written while the rows are read, so memory does not grow with the table
     @GetMapping("/getAll")
-    public ResponseEntity<List<TaskEntity>> getAll(){
-        List<TaskEntity> tasks = taskService.getAllTasks();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<StreamingResponseBody> getAll(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> taskService.writeAllTasksAsJson(out));
+    }
+
+    @GetMapping("/list")
+    public ResponseEntity<TaskPageResponse> list(@RequestParam(defaultValue = "0") int cursor,
+                                                 @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int size,
+                                                 @RequestParam(required = false) TaskStatus status,
+                                                 @RequestParam(required = false) TaskPriority priority,
+                                                 @RequestParam(required = false) String assignedTo,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo) {
+        return ResponseEntity.ok(taskService.listTasks(cursor, size, status, priority, assignedTo, dueFrom, dueTo));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .body(out -> taskService.exportNdjson(out));
+        }
+        if ("csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.csv\"")
+                    .body(out -> taskService.exportCsv(out));
+        }
+        return ResponseEntity.badRequest().build();
+    }
+
+    // change feed for the caller's own tasks; reconnecting clients send Last-Event-ID to catch up
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(Principal principal,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskEventStream.subscribe(principal.getName(), lastEventId);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResponse> search(@RequestParam String q,
+                                                     @RequestParam(required = false) String owner,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "" + TaskSearchService.DEFAULT_PAGE_SIZE) int size) throws IOException {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskSearchService.search(q, owner, page, size));
+    }
+
+    // counts by status/priority and overdue for one owner, or for all tasks without ?user=
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> stats(@RequestParam(required = false) String user) {
+        return ResponseEntity.ok(taskStatsService.getStats(user));
     }
 
     @GetMapping("/getTaskById/{id}")
-    public ResponseEntity<Optional<TaskEntity>> getTaskById(@PathVariable int id) {
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable int id, WebRequest request) {
+        Optional<String> etag = taskService.getTaskETag(id);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            // 304 already written, the task itself is never loaded
+            return null;
+        }
         Optional<TaskEntity> task = taskService.getTaskById(id);
         if (task.isPresent()) {
-            return ResponseEntity.ok(task);
+            return ResponseEntity.ok().eTag(TaskService.taskETag(task.get())).body(taskMapper.toResponse(task.get()));
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping("/getByUserName/{username}")
-    public ResponseEntity<List<Optional<TaskEntity>>> getTasksByUserName(@PathVariable String username){
-        List<Optional<TaskEntity>> tasks = taskService.getTasksByUserName(username);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskResponse>> getTasksByUserName(@PathVariable String username, WebRequest request){
+        Optional<String> etag = taskService.getUserTasksETag(username);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return null;
+        }
+        List<TaskEntity> tasks = taskService.getTasksByUserName(username);
+        return ResponseEntity.ok()
+                .eTag(TaskService.userTasksETag(tasks))
+                .body(taskMapper.toResponses(tasks));
     }
 
 
     @PostMapping("/createTask")
-    public ResponseEntity<TaskEntity> create(@RequestBody TaskEntity taskEntity) {
-        TaskEntity task = taskService.save(taskEntity);
-        return ResponseEntity.ok(task);
+    public ResponseEntity<TaskResponse> create(@RequestBody TaskRequest request) {
+        TaskEntity task = taskService.save(taskMapper.toNewEntity(request));
+        return ResponseEntity.ok(taskMapper.toResponse(task));
     }
 
     @DeleteMapping("/delete/{id}")
@@ -58,13 +158,53 @@ public class TaskController {
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<TaskEntity> update(@RequestBody TaskEntity taskEntity, @PathVariable int id) {
+    public ResponseEntity<TaskResponse> update(@RequestBody TaskRequest request, @PathVariable int id) {
+        TaskEntity taskEntity = taskMapper.toEntity(request);
+        taskEntity.setId(id);
         try {
             TaskEntity updatedTask = taskService.updateTask(taskEntity);
-            return ResponseEntity.ok(updatedTask);
+            return ResponseEntity.ok(taskMapper.toResponse(updatedTask));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(null);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(null);
+        }
+    }
+
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<TaskResponse> patch(@RequestBody TaskPatchRequest patch, @PathVariable int id) {
+        try {
+            TaskEntity patchedTask = taskService.patchTask(id, patch);
+            return ResponseEntity.ok(taskMapper.toResponse(patchedTask));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body(null);
         } catch (RuntimeException e) {
             return ResponseEntity.status(404).body(null);
         }
     }
 
-}
\ No newline at end of file
+    @PostMapping("/bulk/create")
+    public ResponseEntity<List<BulkItemResult>> bulkCreate(@RequestBody List<TaskRequest> tasks) {
+        if (tasks.size() > TaskService.MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.createTasks(taskMapper.toNewEntities(tasks)));
+    }
+
+    @PutMapping("/bulk/update")
+    public ResponseEntity<List<BulkItemResult>> bulkUpdate(@RequestBody List<TaskRequest> tasks) {
+        if (tasks.size() > TaskService.MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.updateTasks(taskMapper.toEntities(tasks)));
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<List<BulkItemResult>> bulkDelete(@RequestBody List<Integer> ids) {
+        if (ids.size() > TaskService.MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(taskService.deleteTasks(ids));
+    }
+
+}
@@ -1,11 +1,14 @@
 package com.example.demo.Controllers;
 
+import com.example.demo.DTO.ChangePasswordRequest;
+import com.example.demo.DTO.UserPageResponse;
 import com.example.demo.DTO.UserResponse;
 import com.example.demo.Services.UserServices;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.security.Principal;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(value="/api/users")
@@ -18,16 +21,28 @@ public class UserController {
     }
 
     @GetMapping("/getAllUsers")
-    public ResponseEntity<List<UserResponse>> getAll() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<UserPageResponse> getAll(@RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "" + UserServices.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(userService.getAllUsers(page, size));
     }
 
     @GetMapping("/user/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable int id) {
-        return ResponseEntity.ok(userService.getAllUsers().stream()
-                .filter(user -> user.getId() == id)
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("User not found")));
+        Optional<UserResponse> user = userService.getUserById(id);
+        if (user.isPresent()) {
+            return ResponseEntity.ok(user.get());
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // changes the caller's own password; tokens already issued stay valid until they expire
+    @PutMapping("/password")
+    public ResponseEntity<String> changePassword(@RequestBody ChangePasswordRequest request, Principal principal) {
+        if (!userService.changePassword(principal.getName(), request.getCurrentPassword(), request.getNewPassword())) {
+            return ResponseEntity.badRequest().body("Current password is incorrect");
+        }
+        return ResponseEntity.ok("Password changed!");
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,60 @@
+package com.example.demo.DTO;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Data
+public class BulkItemResult {
+
+    public enum Status {
+        // DUPLICATE: the id already appeared earlier in the request, whose item was applied instead;
+        // CONFLICT: the row changed between being read and being written, so it was left as it was
+        CREATED, UPDATED, DELETED, NOT_FOUND, INVALID, DUPLICATE, CONFLICT
+    }
+
+    // position of the item in the request array
+    private int index;
+    private Integer id;
+    private Status status;
+    private String message;
+
+    public BulkItemResult(int index, Integer id, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
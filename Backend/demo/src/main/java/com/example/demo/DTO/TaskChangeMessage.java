@@ -0,0 +1,8 @@
+package com.example.demo.DTO;
+
+import com.example.demo.Services.TaskChangedEvent;
+
+// published form of a TaskChangedEvent (task_outbox payload): the API representation of the
+// task before and after the change, so the format does not follow entity changes
+public record TaskChangeMessage(TaskChangedEvent.Type type, int taskId, TaskResponse before, TaskResponse after) {
+}
@@ -0,0 +1,10 @@
+package com.example.demo.DTO;
+
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+
+import java.time.LocalDate;
+
+// one GROUP BY bucket of tasks, used to rebuild the task statistics counters
+public record TaskCountRow(String userName, TaskStatus status, TaskPriority priority, LocalDate dueDate, long count) {
+}
@@ -0,0 +1,7 @@
+package com.example.demo.DTO;
+
+import java.time.LocalDateTime;
+
+// row count and newest updated_at of one user's tasks; changes whenever that list changes
+public record TaskListWatermark(long count, LocalDateTime lastModified) {
+}
@@ -0,0 +1,36 @@
+package com.example.demo.DTO;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@Data
+public class TaskPageResponse {
+
+    private List<TaskSummary> items;
+    // id to pass as ?cursor= for the next page, null when this is the last page
+    private Integer nextCursor;
+
+    public TaskPageResponse(List<TaskSummary> items, Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TaskSummary> items) {
+        this.items = items;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Integer nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
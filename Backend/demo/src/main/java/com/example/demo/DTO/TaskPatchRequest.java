@@ -0,0 +1,92 @@
+package com.example.demo.DTO;
+
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Partial task update: only non-null fields are applied. When {@code version} is sent it must
+ * match the stored version, otherwise the patch is rejected as a concurrent edit.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskPatchRequest {
+
+    private String userName;
+    private String taskName;
+    private String description;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private LocalDate dueDate;
+    private String assignedTo;
+    private Long version;
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public String getAssignedTo() {
+        return assignedTo;
+    }
+
+    public void setAssignedTo(String assignedTo) {
+        this.assignedTo = assignedTo;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.DTO;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Data
+public class TaskSearchHit {
+
+    private float score;
+    private TaskSummary task;
+
+    public TaskSearchHit(float score, TaskSummary task) {
+        this.score = score;
+        this.task = task;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    public TaskSummary getTask() {
+        return task;
+    }
+
+    public void setTask(TaskSummary task) {
+        this.task = task;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.DTO;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@Data
+public class TaskSearchResponse {
+
+    private List<TaskSearchHit> hits;
+    // number of matches; a lower bound when totalExact is false
+    private long total;
+    private boolean totalExact;
+    private int page;
+    private int size;
+
+    public TaskSearchResponse(List<TaskSearchHit> hits, long total, boolean totalExact, int page, int size) {
+        this.hits = hits;
+        this.total = total;
+        this.totalExact = totalExact;
+        this.page = page;
+        this.size = size;
+    }
+
+    public List<TaskSearchHit> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<TaskSearchHit> hits) {
+        this.hits = hits;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    public void setTotalExact(boolean totalExact) {
+        this.totalExact = totalExact;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
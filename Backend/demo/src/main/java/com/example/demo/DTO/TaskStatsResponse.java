@@ -0,0 +1,57 @@
+package com.example.demo.DTO;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@NoArgsConstructor
+@Data
+public class TaskStatsResponse {
+
+    private long total;
+    // keyed by label ("In Progress", "High", ...); tasks without a status/priority are only in total
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byPriority;
+    // due before today and not completed
+    private long overdue;
+
+    public TaskStatsResponse(long total, Map<String, Long> byStatus, Map<String, Long> byPriority, long overdue) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byPriority = byPriority;
+        this.overdue = overdue;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<String, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+}
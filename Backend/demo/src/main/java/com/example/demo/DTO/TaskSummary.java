@@ -0,0 +1,88 @@
+package com.example.demo.DTO;
+
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@Data
+public class TaskSummary {
+
+    private int id;
+    private String userName;
+    private String taskName;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private LocalDate dueDate;
+    private String assignedTo;
+
+    public TaskSummary(int id, String userName, String taskName, TaskStatus status, TaskPriority priority,
+                       LocalDate dueDate, String assignedTo) {
+        this.id = id;
+        this.userName = userName;
+        this.taskName = taskName;
+        this.status = status;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.assignedTo = assignedTo;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public String getAssignedTo() {
+        return assignedTo;
+    }
+
+    public void setAssignedTo(String assignedTo) {
+        this.assignedTo = assignedTo;
+    }
+}
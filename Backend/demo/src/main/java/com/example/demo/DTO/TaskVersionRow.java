@@ -0,0 +1,5 @@
+package com.example.demo.DTO;
+
+// a task's current optimistic-lock version, used to tell which changes a statistics rebuild already counted
+public record TaskVersionRow(int id, long version) {
+}
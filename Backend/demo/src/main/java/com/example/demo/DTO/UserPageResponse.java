@@ -0,0 +1,36 @@
+package com.example.demo.DTO;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@Data
+public class UserPageResponse {
+
+    private List<UserResponse> items;
+    // value to pass as ?page= for the next page, null when this is the last page
+    private Integer nextPage;
+
+    public UserPageResponse(List<UserResponse> items, Integer nextPage) {
+        this.items = items;
+        this.nextPage = nextPage;
+    }
+
+    public List<UserResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<UserResponse> items) {
+        this.items = items;
+    }
+
+    public Integer getNextPage() {
+        return nextPage;
+    }
+
+    public void setNextPage(Integer nextPage) {
+        this.nextPage = nextPage;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.DTO;
+
+/**
+ * Closed interface projection of {@code users}: Spring Data selects only these columns, so the
+ * password hash is never read for listing or lookups.
+ */
+public interface UserSummary {
+
+    int getId();
+
+    String getName();
+
+    String getUsername();
+
+    String getEmail();
+}
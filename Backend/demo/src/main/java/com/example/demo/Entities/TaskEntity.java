@@ -4,24 +4,52 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "tasks")
+@DynamicUpdate
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_user_status", columnList = "user_name, status"),
+        @Index(name = "idx_tasks_assignee_due", columnList = "assigned_to, due_date"),
+        @Index(name = "idx_tasks_user_updated", columnList = "user_name, updated_at")
+})
 public class TaskEntity {
 
+    // IDENTITY would make Hibernate insert row by row; a pooled table generator hands out ids
+    // in blocks of 50 so inserts can be JDBC-batched (see V3 migration)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id_generator")
+    @TableGenerator(name = "task_id_generator", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "tasks", allocationSize = 50)
     private int id;
     private String userName;
     private String taskName;
     private String description;
-    private String status;
-    private String priority;
-    private String dueDate;
+    // stored as plain VARCHAR (not a MySQL ENUM) so new constants don't need a column rewrite
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 20)
+    private TaskStatus status;
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 20)
+    private TaskPriority priority;
+    private LocalDate dueDate;
     private String assignedTo;
+    @Version
+    private long version;
+    // set by Hibernate on every insert/update; drives the per-user list ETag
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 
     public int getId() {
         return id;
@@ -55,27 +83,27 @@ public class TaskEntity {
         this.description = description;
     }
 
-    public String getStatus() {
+    public TaskStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(TaskStatus status) {
         this.status = status;
     }
 
-    public String getPriority() {
+    public TaskPriority getPriority() {
         return priority;
     }
 
-    public void setPriority(String priority) {
+    public void setPriority(TaskPriority priority) {
         this.priority = priority;
     }
 
-    public String getDueDate() {
+    public LocalDate getDueDate() {
         return dueDate;
     }
 
-    public void setDueDate(String dueDate) {
+    public void setDueDate(LocalDate dueDate) {
         this.dueDate = dueDate;
     }
 
@@ -86,4 +114,26 @@ public class TaskEntity {
     public void setAssignedTo(String assignedTo) {
         this.assignedTo = assignedTo;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // detached copy for caches and change events; never shares state with a managed instance
+    public static TaskEntity copyOf(TaskEntity source) {
+        return new TaskEntity(source.id, source.userName, source.taskName, source.description, source.status,
+                source.priority, source.dueDate, source.assignedTo, source.version, source.updatedAt);
+    }
 }
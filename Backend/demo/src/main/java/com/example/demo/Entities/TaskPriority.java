@@ -0,0 +1,36 @@
+package com.example.demo.Entities;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum TaskPriority {
+
+    LOW("Low"),
+    MEDIUM("Medium"),
+    HIGH("High"),
+    CRITICAL("Critical");
+
+    private final String label;
+
+    TaskPriority(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    @JsonCreator
+    public static TaskPriority fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (TaskPriority priority : values()) {
+            if (priority.label.equalsIgnoreCase(value.trim()) || priority.name().equalsIgnoreCase(value.trim())) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task priority: " + value);
+    }
+}
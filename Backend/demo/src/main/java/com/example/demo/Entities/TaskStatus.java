@@ -0,0 +1,36 @@
+package com.example.demo.Entities;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum TaskStatus {
+
+    PENDING("Pending"),
+    IN_PROGRESS("In Progress"),
+    COMPLETED("Completed");
+
+    private final String label;
+
+    TaskStatus(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    // accepts both the label the frontend sends ("In Progress") and the constant name ("IN_PROGRESS")
+    @JsonCreator
+    public static TaskStatus fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (TaskStatus status : values()) {
+            if (status.label.equalsIgnoreCase(value.trim()) || status.name().equalsIgnoreCase(value.trim())) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task status: " + value);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.Mappers;
+
+import com.example.demo.DTO.TaskChangeMessage;
+import com.example.demo.DTO.TaskRequest;
+import com.example.demo.DTO.TaskResponse;
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Services.TaskChangedEvent;
+import org.mapstruct.IterableMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.Named;
+
+import java.util.List;
+
+/**
+ * Task entity to API DTO mapping, generated at compile time (plain getter/setter calls, no
+ * reflection). Entities are never bound from or written to JSON directly.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface TaskMapper {
+
+    TaskResponse toResponse(TaskEntity task);
+
+    List<TaskResponse> toResponses(List<TaskEntity> tasks);
+
+    TaskChangeMessage toMessage(TaskChangedEvent event);
+
+    List<TaskChangeMessage> toMessages(List<TaskChangedEvent> events);
+
+    // new row: the id is generated, whatever the client sent
+    @Named("newEntity")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    TaskEntity toNewEntity(TaskRequest request);
+
+    // changes to an existing row; TaskService copies the editable fields onto the managed entity
+    @Named("entity")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    TaskEntity toEntity(TaskRequest request);
+
+    @IterableMapping(qualifiedByName = "newEntity")
+    List<TaskEntity> toNewEntities(List<TaskRequest> requests);
+
+    @IterableMapping(qualifiedByName = "entity")
+    List<TaskEntity> toEntities(List<TaskRequest> requests);
+}
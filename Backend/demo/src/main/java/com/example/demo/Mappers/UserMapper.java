@@ -0,0 +1,23 @@
+package com.example.demo.Mappers;
+
+import com.example.demo.DTO.RegisterRequest;
+import com.example.demo.DTO.UserResponse;
+import com.example.demo.DTO.UserSummary;
+import com.example.demo.Entities.UserEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+// user entity and projection to API DTO mapping, generated at compile time
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface UserMapper {
+
+    UserResponse toResponse(UserEntity user);
+
+    UserResponse toResponse(UserSummary user);
+
+    // the password is hashed by UserServices, never copied from the request
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    UserEntity toEntity(RegisterRequest request);
+}
@@ -0,0 +1,22 @@
+package com.example.demo.Repositories;
+
+import com.example.demo.Entities.TaskOutboxEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskOutboxRepository extends JpaRepository<TaskOutboxEntity, Long> {
+
+    // keyset page of rows after afterId, on the (status, id) index
+    List<TaskOutboxEntity> findByStatusAndIdGreaterThanOrderByIdAsc(TaskOutboxEntity.Status status, long afterId,
+                                                                    Pageable pageable);
+
+    long countByStatus(TaskOutboxEntity.Status status);
+
+    @Query("select min(o.createdAt) from TaskOutboxEntity o where o.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") TaskOutboxEntity.Status status);
+}
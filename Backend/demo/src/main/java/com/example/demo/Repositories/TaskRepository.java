@@ -1,14 +1,76 @@
 package com.example.demo.Repositories;
 
+import com.example.demo.DTO.TaskCountRow;
+import com.example.demo.DTO.TaskListWatermark;
+import com.example.demo.DTO.TaskSummary;
+import com.example.demo.DTO.TaskVersionRow;
 import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<TaskEntity, Integer> {
 
-    List<Optional<TaskEntity>> findByUserName(String username);
+    // loaded only to be cached, so no dirty-checking snapshots even in a read-write transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<TaskEntity> findByUserName(String username);
+
+    @Query("select new com.example.demo.DTO.TaskSummary(t.id, t.userName, t.taskName, t.status, t.priority, t.dueDate, t.assignedTo) " +
+            "from TaskEntity t where t.id in :ids")
+    List<TaskSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select new com.example.demo.DTO.TaskCountRow(t.userName, t.status, t.priority, t.dueDate, count(t)) " +
+            "from TaskEntity t group by t.userName, t.status, t.priority, t.dueDate")
+    List<TaskCountRow> countByOwnerStatusPriorityAndDueDate();
+
+    @Query("select new com.example.demo.DTO.TaskVersionRow(t.id, t.version) from TaskEntity t where t.id in :ids")
+    List<TaskVersionRow> findVersionsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select t.version from TaskEntity t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") int id);
+
+    // answered from idx_tasks_user_updated alone
+    @Query("select new com.example.demo.DTO.TaskListWatermark(count(t), max(t.updatedAt)) " +
+            "from TaskEntity t where t.userName = :userName")
+    TaskListWatermark findWatermarkByUserName(@Param("userName") String userName);
+
+    @Query("select new com.example.demo.DTO.TaskSummary(t.id, t.userName, t.taskName, t.status, t.priority, t.dueDate, t.assignedTo) " +
+            "from TaskEntity t " +
+            "where t.id > :cursor " +
+            "and (:status is null or t.status = :status) " +
+            "and (:priority is null or t.priority = :priority) " +
+            "and (:assignedTo is null or t.assignedTo = :assignedTo) " +
+            "and (:dueFrom is null or t.dueDate >= :dueFrom) " +
+            "and (:dueTo is null or t.dueDate <= :dueTo) " +
+            "order by t.id asc")
+    List<TaskSummary> findPageAfter(@Param("cursor") int cursor,
+                                    @Param("status") TaskStatus status,
+                                    @Param("priority") TaskPriority priority,
+                                    @Param("assignedTo") String assignedTo,
+                                    @Param("dueFrom") LocalDate dueFrom,
+                                    @Param("dueTo") LocalDate dueTo,
+                                    Pageable pageable);
+
+    // Rows are pulled from a server-side cursor in chunks of the fetch size (needs useCursorFetch=true on MySQL).
+    // The stream must be consumed inside a transaction and closed afterwards.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from TaskEntity t order by t.id asc")
+    Stream<TaskEntity> streamAllBy();
 }
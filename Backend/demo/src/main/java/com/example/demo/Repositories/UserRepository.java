@@ -1,10 +1,17 @@
 package com.example.demo.Repositories;
 
+import com.example.demo.DTO.UserSummary;
 import com.example.demo.Entities.UserEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Integer> {
     Optional<UserEntity> findByUsername(String username);
+
+    Optional<UserSummary> findSummaryById(int id);
+
+    Slice<UserSummary> findAllProjectedBy(Pageable pageable);
 }
@@ -0,0 +1,82 @@
+package com.example.demo.Services;
+
+import com.example.demo.Entities.UserEntity;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Security principal carrying the profile fields the API needs (id, name, email), so callers of
+ * {@code Authentication.getPrincipal()} don't have to look the user up again.
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final int id;
+    private final String name;
+    private final String username;
+    private final String email;
+    private String password;
+
+    public AuthenticatedUser(int id, String name, String username, String email, String password) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+    }
+
+    public static AuthenticatedUser from(UserEntity user) {
+        return new AuthenticatedUser(user.getId(), user.getName(), user.getUsername(), user.getEmail(), user.getPassword());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AuthenticatedUser other && username.equals(other.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(username);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", username=" + username + "]";
+    }
+}
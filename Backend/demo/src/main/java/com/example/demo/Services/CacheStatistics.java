@@ -0,0 +1,10 @@
+package com.example.demo.Services;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record CacheStatistics(long size, long hits, long misses, double hitRatio, long evictions) {
+
+    public static CacheStatistics of(long size, CacheStats stats) {
+        return new CacheStatistics(size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.demo.Services;
+
+import com.example.demo.Entities.TaskEntity;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * In-process {@link TaskCache}. Task entries are bounded by count; user lists are weighed by
+ * their length so a few very large lists cannot pin the heap. Both expire after the TTL, which
+ * bounds staleness for writes made by another instance.
+ * <p>
+ * Entries are futures so that a load never runs inside Caffeine's per-key compute lock. An
+ * eviction therefore never waits for a load: the invalidator runs after commit while the writer
+ * still holds its pooled connection, and waiting there for a load that needs a connection of its
+ * own starves the pool under write load. A load that was in flight when its entry was evicted
+ * still answers the readers already waiting on it, but is not cached.
+ */
+@Service
+@ConditionalOnProperty(name = "task.cache.type", havingValue = "local", matchIfMissing = true)
+public class CaffeineTaskCache implements TaskCache {
+
+    private final AsyncCache<Integer, TaskEntity> tasks;
+    private final AsyncCache<String, List<TaskEntity>> userTasks;
+
+    public CaffeineTaskCache(@Value("${task.cache.max-tasks:10000}") long maxTasks,
+                             @Value("${task.cache.max-user-list-rows:100000}") long maxUserListRows,
+                             @Value("${task.cache.ttl:10m}") Duration ttl) {
+        this.tasks = Caffeine.newBuilder()
+                .maximumSize(maxTasks)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.userTasks = Caffeine.newBuilder()
+                .maximumWeight(maxUserListRows)
+                .<String, List<TaskEntity>>weigher((userName, list) -> list.size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public TaskEntity getTask(int id, IntFunction<TaskEntity> loader) {
+        return load(tasks, id, key -> {
+            TaskEntity loaded = loader.apply(key);
+            return loaded == null ? null : TaskEntity.copyOf(loaded);
+        });
+    }
+
+    @Override
+    public List<TaskEntity> getUserTasks(String userName, Function<String, List<TaskEntity>> loader) {
+        return load(userTasks, userName, key -> loader.apply(key).stream().map(TaskEntity::copyOf).toList());
+    }
+
+    @Override
+    public TaskEntity peekTask(int id) {
+        return peek(tasks, id);
+    }
+
+    @Override
+    public List<TaskEntity> peekUserTasks(String userName) {
+        return peek(userTasks, userName);
+    }
+
+    @Override
+    public void evictTask(int id) {
+        tasks.synchronous().invalidate(id);
+    }
+
+    @Override
+    public void evictUserTasks(String userName) {
+        userTasks.synchronous().invalidate(userName);
+    }
+
+    @Override
+    public void clear() {
+        tasks.synchronous().invalidateAll();
+        userTasks.synchronous().invalidateAll();
+    }
+
+    @Override
+    public Map<String, CacheStatistics> stats() {
+        Map<String, CacheStatistics> stats = new LinkedHashMap<>();
+        stats.put("tasks", CacheStatistics.of(tasks.synchronous().estimatedSize(), tasks.synchronous().stats()));
+        stats.put("userTasks", CacheStatistics.of(userTasks.synchronous().estimatedSize(),
+                userTasks.synchronous().stats()));
+        return stats;
+    }
+
+    public Cache<Integer, TaskEntity> getNativeTaskCache() {
+        return tasks.synchronous();
+    }
+
+    public Cache<String, List<TaskEntity>> getNativeUserTaskCache() {
+        return userTasks.synchronous();
+    }
+
+    // The first caller installs an incomplete future (counted as a miss) and runs the loader on
+    // its own thread; concurrent callers for the same key wait on that future instead of loading.
+    private static <K, V> V load(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> entry = cache.get(key, (k, executor) -> loading);
+        if (entry == loading) {
+            try {
+                loading.complete(loader.apply(key));
+            } catch (RuntimeException | Error e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static <K, V> V peek(AsyncCache<K, V> cache, K key) {
+        CompletableFuture<V> entry = cache.getIfPresent(key);
+        return entry != null && entry.isDone() && !entry.isCompletedExceptionally() ? entry.join() : null;
+    }
+}
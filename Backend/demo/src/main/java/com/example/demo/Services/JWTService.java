@@ -1,65 +1,146 @@
 package com.example.demo.Services;
 
+import com.example.demo.Config.JwtProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JWTService {
 
-    private final SecretKey secretkey;
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+    // upper bound for tokens without an exp claim
+    private static final long MAX_VERIFIED_TOKEN_TTL_MS = TimeUnit.MINUTES.toMillis(5);
 
-    public JWTService() {
-        try{
-            SecretKey k = KeyGenerator.getInstance("HmacSHA256").generateKey();
-            secretkey = Keys.hmacShaKeyFor(k.getEncoded());
-        }catch(Exception e) {
-            throw new RuntimeException("Error initializing JWTService", e);
+    private final Map<String, SecretKey> keysById = new LinkedHashMap<>();
+    private final String activeKid;
+    private final long expirationMs;
+    private final JwtParser jwtParser;
+    // SHA-256 digest of the compact token -> claims it verified to; entries die with the token's exp
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JWTService(JwtProperties properties) {
+        properties.getKeys().forEach((kid, secret) -> keysById.put(kid, decodeKey(kid, secret)));
+        if (keysById.isEmpty() && properties.getSecret() != null && !properties.getSecret().isBlank()) {
+            keysById.put(JwtProperties.DEFAULT_KID, decodeKey(JwtProperties.DEFAULT_KID, properties.getSecret()));
+        }
+        if (keysById.isEmpty()) {
+            throw new IllegalStateException("No JWT signing key configured: set jwt.secret or jwt.keys.<kid>");
         }
+        activeKid = properties.getActiveKid() != null ? properties.getActiveKid() : keysById.keySet().iterator().next();
+        if (!keysById.containsKey(activeKid)) {
+            throw new IllegalStateException("jwt.active-kid '" + activeKid + "' is not one of jwt.keys " + keysById.keySet());
+        }
+        expirationMs = properties.getExpiration().toMillis();
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        // tokens without a kid were signed with the active key
+                        String kid = header.getKeyId() != null ? header.getKeyId() : activeKid;
+                        SecretKey key = keysById.get(kid);
+                        if (key == null) {
+                            throw new SignatureException("Unknown JWT key id: " + kid);
+                        }
+                        return key;
+                    }
+                })
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long ttl = MAX_VERIFIED_TOKEN_TTL_MS;
+                        if (claims.getExpiration() != null) {
+                            ttl = Math.min(ttl, claims.getExpiration().getTime() - System.currentTimeMillis());
+                        }
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(ttl, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String getJWTToken(String username) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, activeKid)
                 .setSubject(username)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 3600000)) // 1 hour expiration
-                .signWith(secretkey)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMs))
+                .signWith(keysById.get(activeKid))
                 .compact();
 
     }
 
-    public String getUserName(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretkey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    /**
+     * Verifies the token signature and expiry and returns its claims. A token that was already
+     * verified is answered from cache until it expires, so repeated calls with the same token pay
+     * for the HMAC and JSON parsing once.
+     *
+     * @throws JwtException if the token is malformed, expired or its signature does not match
+     */
+    public Claims verifyToken(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        verifiedTokens.put(digest, claims);
+        return claims;
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parser()
-                .setSigningKey(secretkey)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    private static SecretKey decodeKey(String kid, String secret) {
+        byte[] bytes;
+        try {
+            bytes = Decoders.BASE64.decode(secret);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("JWT key '" + kid + "' is not valid Base64", e);
+        }
+        if (bytes.length < 32) {
+            throw new IllegalStateException("JWT key '" + kid + "' must be at least 256 bits");
+        }
+        return Keys.hmacShaKeyFor(bytes);
     }
 
-
-    public boolean validateToken(String token) {
+    private static String digest(String token) {
         try {
-            Jwts.parser().setSigningKey(secretkey).parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
-
-
-
-
 }
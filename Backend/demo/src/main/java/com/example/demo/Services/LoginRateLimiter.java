@@ -0,0 +1,48 @@
+package com.example.demo.Services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window limit on login attempts per username and per client IP. A window starts with the
+ * first attempt for a key and lasts {@code security.login.rate-limit.window}.
+ */
+@Service
+public class LoginRateLimiter {
+
+    private final Cache<String, AtomicInteger> attempts;
+    private final int maxPerUsername;
+    private final int maxPerIp;
+    private final Duration window;
+
+    public LoginRateLimiter(@Value("${security.login.rate-limit.per-username:10}") int maxPerUsername,
+                            @Value("${security.login.rate-limit.per-ip:30}") int maxPerIp,
+                            @Value("${security.login.rate-limit.window:1m}") Duration window) {
+        this.maxPerUsername = maxPerUsername;
+        this.maxPerIp = maxPerIp;
+        this.window = window;
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public boolean tryAcquire(String username, String ip) {
+        boolean usernameAllowed = increment("user:" + username) <= maxPerUsername;
+        boolean ipAllowed = increment("ip:" + ip) <= maxPerIp;
+        return usernameAllowed && ipAllowed;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    private int increment(String key) {
+        return attempts.get(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+}
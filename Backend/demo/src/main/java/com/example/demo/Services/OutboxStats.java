@@ -0,0 +1,7 @@
+package com.example.demo.Services;
+
+// pending/dead row counts, age of the oldest pending row, commit-to-dispatch lag of the last
+// dispatched row, and totals since startup
+public record OutboxStats(long pending, long dead, long oldestPendingAgeMs, long lastLagMs,
+                          long dispatched, long retried) {
+}
@@ -0,0 +1,39 @@
+package com.example.demo.Services;
+
+import com.example.demo.Entities.TaskEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Read-through cache in front of {@link TaskService} reads. Values handed out are shared
+ * detached copies and must be treated as read-only. The default implementation is
+ * in-process ({@link CaffeineTaskCache}); a distributed one can be selected with
+ * {@code task.cache.type}. Entries are evicted by {@link TaskCacheInvalidator} once a write
+ * has committed.
+ */
+public interface TaskCache {
+
+    /** Cached task, or the loader's result (null = not found, which is not cached). */
+    TaskEntity getTask(int id, IntFunction<TaskEntity> loader);
+
+    /** Cached task list of one owner, or the loader's result. */
+    List<TaskEntity> getUserTasks(String userName, Function<String, List<TaskEntity>> loader);
+
+    /** Cached task or null, without loading. */
+    TaskEntity peekTask(int id);
+
+    /** Cached task list or null, without loading. */
+    List<TaskEntity> peekUserTasks(String userName);
+
+    void evictTask(int id);
+
+    void evictUserTasks(String userName);
+
+    void clear();
+
+    /** Statistics per region, e.g. "tasks" and "userTasks". */
+    Map<String, CacheStatistics> stats();
+}
@@ -0,0 +1,25 @@
+package com.example.demo.Services;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts exactly the entries a committed write touched: the task itself and the task lists
+ * of its old and new owner. Running after commit means a concurrent reader cannot re-cache
+ * the pre-commit row after the eviction; rolled-back writes evict nothing.
+ */
+@Component
+public class TaskCacheInvalidator {
+
+    private final TaskCache taskCache;
+
+    public TaskCacheInvalidator(TaskCache taskCache) {
+        this.taskCache = taskCache;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        taskCache.evictTask(event.taskId());
+        event.affectedUserNames().forEach(taskCache::evictUserTasks);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.Services;
+
+import com.example.demo.Entities.TaskEntity;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Published by {@link TaskService} for every task write, inside the writing transaction.
+ * {@code before} is a detached snapshot taken before the change (null for creates);
+ * {@code after} is the written entity (null for deletes) and carries the flushed state
+ * (id, version) once the transaction has committed. Listeners must not modify either.
+ */
+public record TaskChangedEvent(Type type, int taskId, TaskEntity before, TaskEntity after) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(TaskEntity after) {
+        return new TaskChangedEvent(Type.CREATED, after.getId(), null, after);
+    }
+
+    public static TaskChangedEvent updated(TaskEntity before, TaskEntity after) {
+        return new TaskChangedEvent(Type.UPDATED, after.getId(), before, after);
+    }
+
+    public static TaskChangedEvent deleted(TaskEntity before) {
+        return new TaskChangedEvent(Type.DELETED, before.getId(), before, null);
+    }
+
+    // owners whose task lists change; an update that reassigns the owner touches both
+    public Set<String> affectedUserNames() {
+        Set<String> names = new LinkedHashSet<>(2);
+        if (before != null && before.getUserName() != null) {
+            names.add(before.getUserName());
+        }
+        if (after != null && after.getUserName() != null) {
+            names.add(after.getUserName());
+        }
+        return names;
+    }
+}
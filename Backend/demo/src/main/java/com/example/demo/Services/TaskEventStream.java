@@ -0,0 +1,236 @@
+package com.example.demo.Services;
+
+import com.example.demo.Mappers.TaskMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed task changes to each owner's open SSE connections.
+ * <p>
+ * Idle connections cost no thread: they are parked servlet async requests. A change is
+ * serialized once, appended to a replay ring and offered to each subscriber's bounded queue;
+ * a small dispatcher pool drains the queues, so a slow client never blocks the writing
+ * request. A subscriber whose queue overflows is disconnected and catches up on reconnect
+ * from {@code Last-Event-ID} (or receives a {@code reset} event when the ring no longer
+ * reaches back that far and must reload).
+ */
+@Service
+public class TaskEventStream implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventStream.class);
+
+    private final ObjectMapper objectMapper;
+    private final TaskMapper taskMapper;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final ExecutorService dispatcher;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // ids continue from the start time so a client resuming across a restart never matches a new event
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final StreamEvent[] ring;
+    private int ringHead;
+    private int ringSize;
+
+    public TaskEventStream(ObjectMapper objectMapper, TaskMapper taskMapper,
+                           @Value("${task.events.timeout:30m}") Duration timeout,
+                           @Value("${task.events.subscriber-buffer:256}") int bufferSize,
+                           @Value("${task.events.replay-size:1000}") int replaySize,
+                           @Value("${task.events.dispatch-threads:2}") int dispatchThreads) {
+        this.objectMapper = objectMapper;
+        this.taskMapper = taskMapper;
+        this.timeoutMs = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.ring = new StreamEvent[replaySize];
+        AtomicInteger counter = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, r -> {
+            Thread t = new Thread(r, "task-events-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public SseEmitter subscribe(String userName, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userName, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // commits the response headers right away and tells the browser how soon to reconnect
+        enqueue(subscriber, SseEmitter.event().reconnectTime(3000).comment("connected").build());
+        // registration and replay share the ring lock with publishing: every event is delivered
+        // exactly once, either replayed here or sent live
+        synchronized (ring) {
+            subscribers.computeIfAbsent(userName, k -> new CopyOnWriteArraySet<>()).add(subscriber);
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(subscriber, lastEventId);
+            }
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<String> userNames = event.affectedUserNames();
+        if (userNames.isEmpty()) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", event.type());
+        payload.put("taskId", event.taskId());
+        payload.put("task", taskMapper.toResponse(event.after()));
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize change of task {}", event.taskId(), e);
+            return;
+        }
+        StreamEvent streamEvent;
+        List<Subscriber> recipients = new ArrayList<>();
+        synchronized (ring) {
+            // ids are taken under the ring lock so the ring stays ordered by id
+            long id = sequence.incrementAndGet();
+            streamEvent = new StreamEvent(id, userNames, SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name("task")
+                    .data(json, MediaType.APPLICATION_JSON)
+                    .build());
+            ring[(ringHead + ringSize) % ring.length] = streamEvent;
+            if (ringSize < ring.length) {
+                ringSize++;
+            } else {
+                ringHead = (ringHead + 1) % ring.length;
+            }
+            for (String userName : userNames) {
+                recipients.addAll(subscribers.getOrDefault(userName, Set.of()));
+            }
+        }
+        recipients.forEach(subscriber -> enqueue(subscriber, streamEvent.frame()));
+    }
+
+    // keeps proxies and load balancers from closing idle connections, and detects dead clients
+    @Scheduled(fixedRateString = "${task.events.heartbeat:15s}")
+    public void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> enqueue(subscriber, ping)));
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // caller holds the ring lock
+    private void replay(Subscriber subscriber, String lastEventId) {
+        long lastId;
+        try {
+            lastId = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            lastId = -1;
+        }
+        long oldest = ringSize == 0 ? sequence.get() + 1 : ring[ringHead].id();
+        List<Set<DataWithMediaType>> missed = new ArrayList<>();
+        if (lastId >= oldest - 1 && lastId <= sequence.get()) {
+            for (int i = 0; i < ringSize; i++) {
+                StreamEvent event = ring[(ringHead + i) % ring.length];
+                if (event.id() > lastId && event.userNames().contains(subscriber.userName())) {
+                    missed.add(event.frame());
+                }
+            }
+            if (missed.size() < bufferSize) {
+                missed.forEach(frame -> enqueue(subscriber, frame));
+                return;
+            }
+        }
+        // events were lost (ring overrun, restart) or are too many to replay: the client reloads instead
+        enqueue(subscriber, SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON).build());
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> frame) {
+        if (!subscriber.queue().offer(frame)) {
+            log.debug("Dropping slow SSE subscriber {}", subscriber.userName());
+            remove(subscriber);
+            subscriber.emitter().complete();
+            return;
+        }
+        if (subscriber.draining().compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<DataWithMediaType> frame;
+            while ((frame = subscriber.queue().poll()) != null) {
+                try {
+                    subscriber.emitter().send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    remove(subscriber);
+                    subscriber.queue().clear();
+                    return;
+                }
+            }
+            subscriber.draining().set(false);
+            // an enqueue may have raced with the reset above; take the work back if nobody else did
+        } while (!subscriber.queue().isEmpty() && subscriber.draining().compareAndSet(false, true));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userName(), (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // runs before the web server's graceful shutdown, which would otherwise wait on every open stream
+    @EventListener(ContextClosedEvent.class)
+    public void closeSubscribers() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter().complete()));
+        subscribers.clear();
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+    }
+
+    private record Subscriber(String userName, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> queue,
+                              AtomicBoolean draining) {
+        Subscriber(String userName, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> queue) {
+            this(userName, emitter, queue, new AtomicBoolean());
+        }
+    }
+
+    private record StreamEvent(long id, Set<String> userNames, Set<DataWithMediaType> frame) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.demo.Services;
+
+import com.example.demo.DTO.TaskChangeMessage;
+import com.example.demo.Entities.TaskOutboxEntity;
+import com.example.demo.Repositories.TaskOutboxRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains task_outbox in id order and hands each row's changes to every {@link TaskOutboxHandler}.
+ * <p>
+ * Per task, changes are delivered in commit order: once a row fails (or is waiting for its
+ * retry) every later row touching one of its tasks is held back. Rows of other tasks are not:
+ * each pass pages through all pending rows, past any that are held back. A failed row is
+ * retried with exponential backoff and marked DEAD after {@code max-attempts}. Run the
+ * dispatcher on a single instance ({@code task.outbox.dispatcher-enabled}); it does not
+ * coordinate with other instances.
+ */
+@Service
+public class TaskOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskOutboxDispatcher.class);
+    private static final TypeReference<List<TaskChangeMessage>> CHANGES = new TypeReference<>() {
+    };
+
+    private final TaskOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final List<TaskOutboxHandler> handlers;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong lastLagMs = new AtomicLong();
+
+    public TaskOutboxDispatcher(TaskOutboxRepository outboxRepository, ObjectMapper objectMapper,
+                                List<TaskOutboxHandler> handlers,
+                                @Value("${task.outbox.dispatcher-enabled:true}") boolean enabled,
+                                @Value("${task.outbox.batch-size:100}") int batchSize,
+                                @Value("${task.outbox.max-attempts:10}") int maxAttempts,
+                                @Value("${task.outbox.backoff:1s}") Duration backoff,
+                                @Value("${task.outbox.max-backoff:5m}") Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.handlers = handlers;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Scheduled(fixedDelayString = "${task.outbox.poll-interval:500ms}")
+    public void poll() {
+        if (enabled) {
+            dispatchPending();
+        }
+    }
+
+    /** Dispatches what is due; returns the number of rows delivered. */
+    public synchronized int dispatchPending() {
+        int total = 0;
+        long after = 0;
+        // carried across pages, so a task blocked in one page stays blocked in the next
+        Set<Integer> blockedTasks = new HashSet<>();
+        while (true) {
+            List<TaskOutboxEntity> batch = outboxRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                    TaskOutboxEntity.Status.PENDING, after, PageRequest.of(0, batchSize));
+            total += dispatchBatch(batch, blockedTasks);
+            // a short batch was the end of the table
+            if (batch.size() < batchSize) {
+                return total;
+            }
+            after = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private int dispatchBatch(List<TaskOutboxEntity> batch, Set<Integer> blockedTasks) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> delivered = new ArrayList<>();
+        for (TaskOutboxEntity row : batch) {
+            List<TaskChangeMessage> changes;
+            try {
+                changes = objectMapper.readValue(row.getPayload(), CHANGES);
+            } catch (Exception e) {
+                markDead(row, e);
+                continue;
+            }
+            Set<Integer> taskIds = new HashSet<>();
+            changes.forEach(change -> taskIds.add(change.taskId()));
+            boolean blocked = taskIds.stream().anyMatch(blockedTasks::contains);
+            if (blocked || row.getNextAttemptAt().isAfter(now)) {
+                blockedTasks.addAll(taskIds);
+                continue;
+            }
+            try {
+                for (TaskOutboxHandler handler : handlers) {
+                    handler.handle(changes);
+                }
+            } catch (Exception e) {
+                blockedTasks.addAll(taskIds);
+                scheduleRetry(row, e);
+                continue;
+            }
+            delivered.add(row.getId());
+            lastLagMs.set(Duration.between(row.getCreatedAt(), LocalDateTime.now()).toMillis());
+        }
+        if (!delivered.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(delivered);
+            dispatched.addAndGet(delivered.size());
+        }
+        return delivered.size();
+    }
+
+    private void scheduleRetry(TaskOutboxEntity row, Exception e) {
+        int attempts = row.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            markDead(row, e);
+            return;
+        }
+        long delayMs = Math.min(maxBackoff.toMillis(), backoff.toMillis() << Math.min(attempts - 1, 20));
+        row.setAttempts(attempts);
+        row.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000));
+        row.setLastError(truncate(e.toString()));
+        outboxRepository.save(row);
+        retried.incrementAndGet();
+        log.debug("Outbox row {} failed (attempt {}), retrying in {} ms", row.getId(), attempts, delayMs, e);
+    }
+
+    private void markDead(TaskOutboxEntity row, Exception e) {
+        row.setAttempts(row.getAttempts() + 1);
+        row.setStatus(TaskOutboxEntity.Status.DEAD);
+        row.setLastError(truncate(e.toString()));
+        outboxRepository.save(row);
+        log.warn("Outbox row {} gave up after {} attempts", row.getId(), row.getAttempts(), e);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    public OutboxStats stats() {
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAt(TaskOutboxEntity.Status.PENDING);
+        return new OutboxStats(
+                outboxRepository.countByStatus(TaskOutboxEntity.Status.PENDING),
+                outboxRepository.countByStatus(TaskOutboxEntity.Status.DEAD),
+                oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis(),
+                lastLagMs.get(),
+                dispatched.get(),
+                retried.get());
+    }
+}
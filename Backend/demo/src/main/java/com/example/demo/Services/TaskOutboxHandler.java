@@ -0,0 +1,17 @@
+package com.example.demo.Services;
+
+import com.example.demo.DTO.TaskChangeMessage;
+
+import java.util.List;
+
+/**
+ * Side effect of committed task changes (notifications, audit, indexing, ...), run by
+ * {@link TaskOutboxDispatcher} off the request path. {@code changes} are the changes of one
+ * committed transaction, in order, with each task in its API form ({@code TaskResponse}).
+ * Delivery is at-least-once: a failure in any handler retries the whole batch for every
+ * handler, so implementations must be idempotent.
+ */
+public interface TaskOutboxHandler {
+
+    void handle(List<TaskChangeMessage> changes) throws Exception;
+}
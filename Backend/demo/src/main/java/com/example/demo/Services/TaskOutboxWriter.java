@@ -0,0 +1,77 @@
+package com.example.demo.Services;
+
+import com.example.demo.Entities.TaskOutboxEntity;
+import com.example.demo.Mappers.TaskMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every {@link TaskChangedEvent} of a transaction in the task_outbox table, as part of
+ * that same transaction: the changes and their outbox row commit or roll back together. One
+ * row is written per transaction, just before commit, so a bulk write costs a single insert.
+ */
+@Component
+public class TaskOutboxWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final TaskMapper taskMapper;
+
+    public TaskOutboxWriter(ObjectMapper objectMapper, TaskMapper taskMapper) {
+        this.objectMapper = objectMapper;
+        this.taskMapper = taskMapper;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Task changes must be published inside a transaction");
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(event);
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final List<TaskChangedEvent> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // flush first so the mapped tasks carry their new version and updatedAt
+            entityManager.flush();
+            TaskOutboxEntity row = new TaskOutboxEntity();
+            LocalDateTime now = LocalDateTime.now();
+            row.setCreatedAt(now);
+            row.setNextAttemptAt(now);
+            row.setStatus(TaskOutboxEntity.Status.PENDING);
+            try {
+                row.setPayload(objectMapper.writeValueAsString(taskMapper.toMessages(changes)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize task changes for the outbox", e);
+            }
+            entityManager.persist(row);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TaskOutboxWriter.this);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.demo.Services;
+
+import com.example.demo.Entities.TaskEntity;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lucene inverted index over task names and descriptions. Only the id is stored; callers load
+ * the rows they display. Writes become visible to searches after {@link #refresh()}.
+ */
+public class TaskSearchIndex implements Closeable {
+
+    private static final String ID = "id";
+    private static final String OWNER = "owner";
+    private static final String TASK_NAME = "taskName";
+    private static final String DESCRIPTION = "description";
+    // a match in the name ranks above the same match in the description
+    private static final Map<String, Float> SEARCH_FIELDS = Map.of(TASK_NAME, 2.0f, DESCRIPTION, 1.0f);
+
+    public record Hit(int id, float score) {
+    }
+
+    // total is a lower bound when exact is false: Lucene stops counting once the top hits are settled
+    public record Hits(long total, boolean exact, List<Hit> hits) {
+    }
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Path path;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    /** @param path index directory, or null to keep the index on the heap */
+    public TaskSearchIndex(Path path) throws IOException {
+        this.path = path;
+        this.directory = path == null ? new ByteBuffersDirectory() : FSDirectory.open(path);
+        // the index is always rebuilt from the database, never reopened
+        IndexWriterConfig config = new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void index(TaskEntity task) throws IOException {
+        Document doc = new Document();
+        doc.add(new StringField(ID, Integer.toString(task.getId()), Field.Store.YES));
+        if (task.getUserName() != null) {
+            doc.add(new StringField(OWNER, task.getUserName(), Field.Store.NO));
+        }
+        if (task.getTaskName() != null) {
+            doc.add(new TextField(TASK_NAME, task.getTaskName(), Field.Store.NO));
+        }
+        if (task.getDescription() != null) {
+            doc.add(new TextField(DESCRIPTION, task.getDescription(), Field.Store.NO));
+        }
+        writer.updateDocument(new Term(ID, Integer.toString(task.getId())), doc);
+    }
+
+    public void delete(int id) throws IOException {
+        writer.deleteDocuments(new Term(ID, Integer.toString(id)));
+    }
+
+    // after a full rebuild: fewer, larger segments make every later query cheaper
+    public void merge() throws IOException {
+        writer.forceMerge(1);
+    }
+
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Ranked search; every term must match ({@code "quoted phrases"}, {@code -exclusions} and
+     * {@code prefix*} are supported). {@code owner} may be null for all owners.
+     */
+    public Hits search(String text, String owner, int offset, int limit) throws IOException {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, SEARCH_FIELDS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(parser.parse(text), BooleanClause.Occur.MUST);
+        if (owner != null) {
+            // FILTER: restricts the matches without affecting the score
+            query.add(new TermQuery(new Term(OWNER, owner)), BooleanClause.Occur.FILTER);
+        }
+        return search(query.build(), offset, limit);
+    }
+
+    private Hits search(Query query, int offset, int limit) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            int topN = offset + limit;
+            // count hits only until the top N are settled: past that, block-max scoring skips whole
+            // blocks of common terms instead of scoring every posting (the total becomes a lower bound)
+            TopDocs top = searcher.search(query, new TopScoreDocCollectorManager(topN, null, topN));
+            List<Hit> hits = new ArrayList<>(limit);
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = top.scoreDocs[i];
+                String id = searcher.storedFields().document(scoreDoc.doc, Set.of(ID)).get(ID);
+                hits.add(new Hit(Integer.parseInt(id), scoreDoc.score));
+            }
+            return new Hits(top.totalHits.value, top.totalHits.relation == TotalHits.Relation.EQUAL_TO, hits);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /** @return the index directory, or null for an index on the heap */
+    public Path path() {
+        return path;
+    }
+
+    public int documentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+}
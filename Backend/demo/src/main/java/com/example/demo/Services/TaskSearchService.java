@@ -0,0 +1,222 @@
+package com.example.demo.Services;
+
+import com.example.demo.DTO.TaskSearchHit;
+import com.example.demo.DTO.TaskSearchResponse;
+import com.example.demo.DTO.TaskSummary;
+import com.example.demo.Repositories.TaskRepository;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text task search. The {@link TaskSearchIndex} is built from the database when the
+ * application starts and then kept in sync from committed {@link TaskChangedEvent}s. A rebuild
+ * fills a new index next to the live one, which keeps answering searches (and taking changes)
+ * until the new one is complete and swapped in; changes made while it is being built are also
+ * held back and applied to it before the swap, so older rows cannot overwrite them.
+ */
+@Service
+public class TaskSearchService implements DisposableBean {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    // deepest result reachable through paging; deeper pages cost a larger top-N per query
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchService.class);
+    private static final String GENERATION_PREFIX = "index-";
+
+    private final Path indexRoot;
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "task-search-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Object lock = new Object();
+    // replaced (under the lock) only when a rebuild completes
+    private volatile TaskSearchIndex index;
+    private boolean rebuilding;
+    private final List<TaskChangedEvent> heldBack = new ArrayList<>();
+
+    public TaskSearchService(TaskService taskService, TaskRepository taskRepository,
+                             @Value("${task.search.index-dir:}") String indexDir) throws IOException {
+        this.taskService = taskService;
+        this.taskRepository = taskRepository;
+        this.indexRoot = indexDir.isBlank() ? null : Path.of(indexDir);
+        if (indexRoot != null) {
+            // every index is rebuilt from the database, so generations left by earlier runs are stale
+            Files.createDirectories(indexRoot);
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(indexRoot, GENERATION_PREFIX + "*")) {
+                for (Path generation : stale) {
+                    FileSystemUtils.deleteRecursively(generation);
+                }
+            }
+        }
+        this.index = newIndex();
+    }
+
+    // on the heap, or in a new subdirectory of task.search.index-dir per rebuild
+    private TaskSearchIndex newIndex() throws IOException {
+        return new TaskSearchIndex(indexRoot == null ? null : Files.createTempDirectory(indexRoot, GENERATION_PREFIX));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /** Re-indexes every task in the background; rebuilds run one at a time. */
+    public CompletableFuture<Void> rebuild() {
+        return CompletableFuture.runAsync(this::rebuildNow, rebuilder);
+    }
+
+    private void rebuildNow() {
+        long start = System.nanoTime();
+        synchronized (lock) {
+            rebuilding = true;
+        }
+        TaskSearchIndex fresh = null;
+        TaskSearchIndex previous;
+        try {
+            TaskSearchIndex building = newIndex();
+            fresh = building;
+            taskService.forEachTask(task -> {
+                try {
+                    building.index(task);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            building.merge();
+            synchronized (lock) {
+                heldBack.forEach(event -> apply(building, event));
+                building.refresh();
+                previous = index;
+                index = building;
+                heldBack.clear();
+                rebuilding = false;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Task search index rebuild failed", e);
+            // the live index has had every change applied, so it simply stays in place
+            synchronized (lock) {
+                heldBack.clear();
+                rebuilding = false;
+            }
+            if (fresh != null) {
+                discard(fresh);
+            }
+            return;
+        }
+        discard(previous);
+        log.info("Task search index rebuilt: {} tasks in {} ms", index.documentCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void discard(TaskSearchIndex old) {
+        try {
+            // searches still holding its reader finish on it; the reader closes on their release
+            old.close();
+            if (old.path() != null) {
+                FileSystemUtils.deleteRecursively(old.path());
+            }
+        } catch (IOException e) {
+            log.warn("Could not remove the replaced task search index", e);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSearchIndex live;
+        synchronized (lock) {
+            if (rebuilding) {
+                heldBack.add(event);
+            }
+            live = index;
+        }
+        apply(live, event);
+    }
+
+    private void apply(TaskSearchIndex target, TaskChangedEvent event) {
+        try {
+            if (event.type() == TaskChangedEvent.Type.DELETED) {
+                target.delete(event.taskId());
+            } else {
+                target.index(event.after());
+            }
+        } catch (AlreadyClosedException e) {
+            // swapped out meanwhile by a rebuild, which applied this change to its own index
+        } catch (IOException e) {
+            // the next rebuild repairs it; a failed index write must not fail the committed request
+            log.warn("Could not index change of task {}", event.taskId(), e);
+        }
+    }
+
+    // makes recent index writes searchable; batching them keeps reopen cost off the write path
+    @Scheduled(fixedDelayString = "${task.search.refresh-interval:1s}")
+    public void refresh() {
+        try {
+            index.refresh();
+        } catch (AlreadyClosedException e) {
+            // swapped out by a rebuild just now; the new index is refreshed already
+        } catch (IOException e) {
+            log.warn("Could not refresh the task search index", e);
+        }
+    }
+
+    public TaskSearchResponse search(String query, String owner, int page, int size) throws IOException {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, Math.min(page, MAX_RESULT_WINDOW / pageSize - 1));
+        TaskSearchIndex.Hits hits;
+        try {
+            hits = index.search(query, owner, pageNumber * pageSize, pageSize);
+        } catch (AlreadyClosedException e) {
+            // a rebuild swapped the index between reading the field and acquiring its searcher
+            hits = index.search(query, owner, pageNumber * pageSize, pageSize);
+        }
+
+        // one lookup for the page; ids deleted since the last refresh simply drop out
+        List<Integer> ids = hits.hits().stream().map(TaskSearchIndex.Hit::id).toList();
+        Map<Integer, TaskSummary> tasks = taskRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskSummary::getId, Function.identity()));
+        List<TaskSearchHit> results = new ArrayList<>(ids.size());
+        for (TaskSearchIndex.Hit hit : hits.hits()) {
+            TaskSummary task = tasks.get(hit.id());
+            if (task != null) {
+                results.add(new TaskSearchHit(hit.score(), task));
+            }
+        }
+        return new TaskSearchResponse(results, hits.total(), hits.exact(), pageNumber, pageSize);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        rebuilder.shutdownNow();
+        index.close();
+    }
+}
@@ -1,38 +1,261 @@
 package com.example.demo.Services;
 
+import com.example.demo.DTO.BulkItemResult;
+import com.example.demo.DTO.TaskListWatermark;
+import com.example.demo.DTO.TaskPageResponse;
+import com.example.demo.DTO.TaskPatchRequest;
+import com.example.demo.DTO.TaskResponse;
+import com.example.demo.DTO.TaskSummary;
 import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Mappers.TaskMapper;
 import com.example.demo.Repositories.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
 @Transactional
 public class TaskService {
 
+    private static final Logger log = LoggerFactory.getLogger(TaskService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BULK_SIZE = 1000;
+
+    private static final String BULK_UPDATE_SQL = "update tasks set task_name = ?, description = ?, user_name = ?, "
+            + "status = ?, priority = ?, due_date = ?, assigned_to = ?, version = ?, updated_at = ? "
+            + "where id = ? and version = ?";
+
     @Autowired
     private TaskRepository taskRepository;
 
-    public List<TaskEntity> getAllTasks(){
-        return taskRepository.findAll();
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    /**
+     * Writes every task as one JSON array, reading them through a cursor and serializing each
+     * straight into {@code out}: neither the entity list nor the JSON body is ever held in memory.
+     * Read-only, so Hibernate skips dirty checking and flushing, and with a replica configured the
+     * query runs there (see {@code ReplicaDataSourceConfig}).
+     */
+    @Transactional(readOnly = true)
+    public void writeAllTasksAsJson(OutputStream out) throws IOException {
+        try (Stream<TaskEntity> tasks = taskRepository.streamAllBy();
+             SequenceWriter json = streamingTaskWriter().writeValuesAsArray(out)) {
+            Iterator<TaskEntity> it = tasks.iterator();
+            while (it.hasNext()) {
+                TaskEntity task = it.next();
+                json.write(taskMapper.toResponse(task));
+                entityManager.detach(task);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPageResponse listTasks(int cursor, int size, TaskStatus status, TaskPriority priority,
+                                      String assignedTo, LocalDate dueFrom, LocalDate dueTo) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // fetch one extra row so we know whether another page exists without a count query
+        List<TaskSummary> rows = taskRepository.findPageAfter(cursor, status, priority, assignedTo,
+                dueFrom, dueTo, PageRequest.of(0, pageSize + 1));
+        if (rows.size() > pageSize) {
+            List<TaskSummary> page = rows.subList(0, pageSize);
+            return new TaskPageResponse(page, page.get(pageSize - 1).getId());
+        }
+        return new TaskPageResponse(rows, null);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out);
+        try (Stream<TaskEntity> tasks = taskRepository.streamAllBy()) {
+            Iterator<TaskEntity> it = tasks.iterator();
+            while (it.hasNext()) {
+                TaskEntity task = it.next();
+                buffered.write(objectMapper.writeValueAsBytes(taskMapper.toResponse(task)));
+                buffered.write('\n');
+                // keep the persistence context empty so heap use does not grow with the table
+                entityManager.detach(task);
+            }
+        }
+        buffered.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(new BufferedOutputStream(out), StandardCharsets.UTF_8);
+        writer.write("id,userName,taskName,description,status,priority,dueDate,assignedTo\n");
+        try (Stream<TaskEntity> tasks = taskRepository.streamAllBy()) {
+            Iterator<TaskEntity> it = tasks.iterator();
+            while (it.hasNext()) {
+                TaskEntity task = it.next();
+                writer.write(String.valueOf(task.getId()));
+                for (Object value : new Object[]{task.getUserName(), task.getTaskName(), task.getDescription(),
+                        task.getStatus() == null ? null : task.getStatus().getLabel(),
+                        task.getPriority() == null ? null : task.getPriority().getLabel(),
+                        task.getDueDate(), task.getAssignedTo()}) {
+                    writer.write(',');
+                    writer.write(csvField(value));
+                }
+                writer.write('\n');
+                entityManager.detach(task);
+            }
+        }
+        writer.flush();
+    }
+
+    // visits every task without holding them all in memory (same streaming as the exports), on the
+    // primary like the cache loads below: the search index is rebuilt from it, and a lagging replica
+    // would swap in an index missing writes that only the replaced index had seen
+    public void forEachTask(Consumer<TaskEntity> action) {
+        try (Stream<TaskEntity> tasks = taskRepository.streamAllBy()) {
+            Iterator<TaskEntity> it = tasks.iterator();
+            while (it.hasNext()) {
+                TaskEntity task = it.next();
+                action.accept(task);
+                entityManager.detach(task);
+            }
+        }
     }
 
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    // Cache loads and ETag lookups run in the class-level read-write transaction, i.e. on the
+    // primary even when a replica is configured: a lagging replica would put a pre-write row into
+    // the cache until the next eviction, or answer 304 for a version the client already replaced.
+
     public Optional<TaskEntity> getTaskById(int id){
-        return taskRepository.findById(id);
+        return Optional.ofNullable(taskCache.getTask(id, key -> taskRepository.findById(key).orElse(null)));
+    }
+
+    // ETags are computed from the cached copy when there is one, otherwise from a version or
+    // watermark query, so a conditional GET that ends in 304 never loads the entities themselves
+
+    public Optional<String> getTaskETag(int id) {
+        TaskEntity cached = taskCache.peekTask(id);
+        if (cached != null) {
+            return Optional.of(taskETag(cached));
+        }
+        return taskRepository.findVersionById(id).map(version -> taskETag(id, version));
+    }
+
+    public Optional<String> getUserTasksETag(String username) {
+        List<TaskEntity> cached = taskCache.peekUserTasks(username);
+        TaskListWatermark watermark = cached != null ? watermark(cached) : taskRepository.findWatermarkByUserName(username);
+        return watermark.count() == 0 ? Optional.empty() : Optional.of(userTasksETag(watermark));
+    }
+
+    public static String taskETag(TaskEntity task) {
+        return taskETag(task.getId(), task.getVersion());
+    }
+
+    public static String userTasksETag(List<TaskEntity> tasks) {
+        return userTasksETag(watermark(tasks));
+    }
+
+    private static String taskETag(int id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    private static String userTasksETag(TaskListWatermark watermark) {
+        LocalDateTime lastModified = watermark.lastModified();
+        long micros = lastModified == null ? 0
+                : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        // weak: Tomcat does not gzip responses carrying a strong ETag, and the watermark identifies
+        // the list's content, not one byte-exact (compressed or identity) representation of it
+        return "W/\"" + watermark.count() + "-" + micros + "\"";
+    }
+
+    private static TaskListWatermark watermark(List<TaskEntity> tasks) {
+        LocalDateTime lastModified = null;
+        for (TaskEntity task : tasks) {
+            if (task.getUpdatedAt() != null && (lastModified == null || task.getUpdatedAt().isAfter(lastModified))) {
+                lastModified = task.getUpdatedAt();
+            }
+        }
+        return new TaskListWatermark(tasks.size(), lastModified);
     }
 
     public TaskEntity save(TaskEntity taskEntity) {
-        taskRepository.save(taskEntity);
-        return taskEntity;
+        // an explicit id makes save() a merge of an existing row, so snapshot it for the change event
+        TaskEntity before = taskEntity.getId() == 0 ? null
+                : taskRepository.findById(taskEntity.getId()).map(TaskEntity::copyOf).orElse(null);
+        TaskEntity saved = taskRepository.save(taskEntity);
+        eventPublisher.publishEvent(before == null
+                ? TaskChangedEvent.created(saved)
+                : TaskChangedEvent.updated(before, saved));
+        return saved;
     }
 
-    public List<Optional<TaskEntity>> getTasksByUserName(String username) {
-        List<Optional<TaskEntity>> tasks = taskRepository.findByUserName(username);
+    public List<TaskEntity> getTasksByUserName(String username) {
+        List<TaskEntity> tasks = taskCache.getUserTasks(username, taskRepository::findByUserName);
         if(tasks.isEmpty()) {
             throw new RuntimeException("No tasks found for user: " + username);
         }
@@ -41,17 +264,13 @@ public class TaskService {
 
     public TaskEntity updateTask(TaskEntity taskEntity) {
         int taskId = taskEntity.getId();
-        System.out.println(taskId);
+        log.debug("Updating task {}", taskId);
         TaskEntity optionalTask = taskRepository.findById(taskId).orElse(null);
         if (optionalTask != null) {
-            optionalTask.setTaskName(taskEntity.getTaskName());
-            optionalTask.setDescription(taskEntity.getDescription());
-            optionalTask.setUserName(taskEntity.getUserName());
-            optionalTask.setStatus(taskEntity.getStatus());
-            optionalTask.setPriority(taskEntity.getPriority());
-            optionalTask.setDueDate(taskEntity.getDueDate());
-            optionalTask.setAssignedTo(taskEntity.getAssignedTo());
-            taskRepository.save(optionalTask);
+            TaskEntity before = TaskEntity.copyOf(optionalTask);
+            // managed entity: dirty checking writes the change at commit, no save() needed
+            copyFields(taskEntity, optionalTask);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(before, optionalTask));
             return optionalTask;
         } else {
             throw new RuntimeException("Task with ID " + taskId + " does not exist.");
@@ -59,17 +278,234 @@ public class TaskService {
     }
 
 
+    public TaskEntity patchTask(int id, TaskPatchRequest patch) {
+        TaskEntity task = taskRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task with ID " + id + " does not exist."));
+        if (patch.getVersion() != null && patch.getVersion() != task.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(TaskEntity.class, id);
+        }
+        TaskEntity before = TaskEntity.copyOf(task);
+        // a patch that changes nothing leaves the entity clean, so no UPDATE is issued
+        if (patch.getUserName() != null) {
+            task.setUserName(patch.getUserName());
+        }
+        if (patch.getTaskName() != null) {
+            task.setTaskName(patch.getTaskName());
+        }
+        if (patch.getDescription() != null) {
+            task.setDescription(patch.getDescription());
+        }
+        if (patch.getStatus() != null) {
+            task.setStatus(patch.getStatus());
+        }
+        if (patch.getPriority() != null) {
+            task.setPriority(patch.getPriority());
+        }
+        if (patch.getDueDate() != null) {
+            task.setDueDate(patch.getDueDate());
+        }
+        if (patch.getAssignedTo() != null) {
+            task.setAssignedTo(patch.getAssignedTo());
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, task));
+        return task;
+    }
+
     public String deleteTask(int id){
-        if (taskRepository.existsById(id)) {
-            taskRepository.deleteById(id);
+        // load rather than existsById: the owner is needed to invalidate their cached task list
+        Optional<TaskEntity> task = taskRepository.findById(id);
+        if (task.isPresent()) {
+            taskRepository.delete(task.get());
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(TaskEntity.copyOf(task.get())));
             return "Task with ID " + id + " deleted successfully.";
         } else {
             return "Task with ID " + id + " does not exist.";
         }
     }
 
+    public List<BulkItemResult> createTasks(List<TaskEntity> tasks) {
+        List<BulkItemResult> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskEntity task = tasks.get(i);
+            if (task == null) {
+                results.add(new BulkItemResult(i, null, BulkItemResult.Status.INVALID, "Task is empty"));
+                continue;
+            }
+            // ids and versions are always generated; a client-supplied id would turn persist into a merge
+            task.setId(0);
+            task.setVersion(0);
+            entityManager.persist(task);
+            eventPublisher.publishEvent(TaskChangedEvent.created(task));
+            results.add(new BulkItemResult(i, task.getId(), BulkItemResult.Status.CREATED, null));
+            if ((i + 1) % batchSize == 0) {
+                // send this batch and keep the persistence context small
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return results;
+    }
 
+    /**
+     * Replaces every field of each task, reporting per item. An id repeated in the request is
+     * applied once, at its first occurrence, and later occurrences come back {@code DUPLICATE}; a
+     * row changed by someone else between the read and the write comes back {@code CONFLICT} and
+     * is left as it was. Neither aborts the rest of the batch.
+     */
+    public List<BulkItemResult> updateTasks(List<TaskEntity> tasks) {
+        List<Integer> ids = tasks.stream()
+                .filter(task -> task != null)
+                .map(TaskEntity::getId)
+                .toList();
+        Map<Integer, TaskEntity> existing = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
 
+        BulkItemResult[] results = new BulkItemResult[tasks.size()];
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> changedIndexes = new ArrayList<>();
+        List<TaskEntity> before = new ArrayList<>();
+        List<TaskEntity> changed = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskEntity task = tasks.get(i);
+            if (task == null) {
+                results[i] = new BulkItemResult(i, null, BulkItemResult.Status.INVALID, "Task is empty");
+                continue;
+            }
+            if (!seen.add(task.getId())) {
+                results[i] = new BulkItemResult(i, task.getId(), BulkItemResult.Status.DUPLICATE,
+                        "Task with ID " + task.getId() + " appears earlier in the request.");
+                continue;
+            }
+            TaskEntity target = existing.get(task.getId());
+            if (target == null) {
+                results[i] = new BulkItemResult(i, task.getId(), BulkItemResult.Status.NOT_FOUND,
+                        "Task with ID " + task.getId() + " does not exist.");
+                continue;
+            }
+            before.add(TaskEntity.copyOf(target));
+            entityManager.detach(target);
+            copyFields(task, target);
+            changedIndexes.add(i);
+            changed.add(target);
+        }
 
+        boolean[] written = updateInBatches(changed);
+        for (int k = 0; k < changed.size(); k++) {
+            int index = changedIndexes.get(k);
+            TaskEntity target = changed.get(k);
+            if (written[k]) {
+                eventPublisher.publishEvent(TaskChangedEvent.updated(before.get(k), target));
+                results[index] = new BulkItemResult(index, target.getId(), BulkItemResult.Status.UPDATED, null);
+            } else {
+                results[index] = new BulkItemResult(index, target.getId(), BulkItemResult.Status.CONFLICT,
+                        "Task with ID " + target.getId() + " was changed concurrently.");
+            }
+        }
+        return List.of(results);
+    }
 
+    // Hibernate never JDBC-batches the per-row @DynamicUpdate statements dirty checking would issue
+    // here. A bulk PUT replaces every field anyway, so the rows are written with one full-row UPDATE
+    // batched by hand, through the session's JDBC coordinator so the statement is still inspected,
+    // logged and timed. Version check and increment and updatedAt mirror what Hibernate would do,
+    // except that a row whose version no longer matches is reported back instead of failing the
+    // transaction: the returned flags say which rows were written.
+    private boolean[] updateInBatches(List<TaskEntity> tasks) {
+        boolean[] written = new boolean[tasks.size()];
+        if (tasks.isEmpty()) {
+            return written;
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        JdbcCoordinator jdbc = session.getJdbcCoordinator();
+        LocalDateTime now = LocalDateTime.now();
+        PreparedStatement statement = jdbc.getStatementPreparer().prepareStatement(BULK_UPDATE_SQL);
+        try {
+            for (int start = 0; start < tasks.size(); start += batchSize) {
+                List<TaskEntity> batch = tasks.subList(start, Math.min(start + batchSize, tasks.size()));
+                for (TaskEntity task : batch) {
+                    statement.setString(1, task.getTaskName());
+                    statement.setString(2, task.getDescription());
+                    statement.setString(3, task.getUserName());
+                    statement.setString(4, task.getStatus() == null ? null : task.getStatus().name());
+                    statement.setString(5, task.getPriority() == null ? null : task.getPriority().name());
+                    statement.setObject(6, task.getDueDate());
+                    statement.setString(7, task.getAssignedTo());
+                    statement.setLong(8, task.getVersion() + 1);
+                    statement.setObject(9, now);
+                    statement.setInt(10, task.getId());
+                    statement.setLong(11, task.getVersion());
+                    statement.addBatch();
+                }
+                session.getEventListenerManager().jdbcExecuteBatchStart();
+                int[] counts;
+                try {
+                    counts = statement.executeBatch();
+                } finally {
+                    session.getEventListenerManager().jdbcExecuteBatchEnd();
+                }
+                // SUCCESS_NO_INFO (-2) from a driver that cannot tell counts as written
+                for (int k = 0; k < counts.length; k++) {
+                    written[start + k] = counts[k] != 0;
+                }
+            }
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "Bulk task update failed", BULK_UPDATE_SQL);
+        } finally {
+            jdbc.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbc.afterStatementExecution();
+        }
+        for (int k = 0; k < tasks.size(); k++) {
+            if (written[k]) {
+                tasks.get(k).setVersion(tasks.get(k).getVersion() + 1);
+                tasks.get(k).setUpdatedAt(now);
+            }
+        }
+        return written;
+    }
+
+    public List<BulkItemResult> deleteTasks(List<Integer> ids) {
+        List<Integer> requested = ids.stream().filter(id -> id != null).toList();
+        // one SELECT for the owners (needed for cache invalidation) and one DELETE ... WHERE id IN (...)
+        List<TaskEntity> found = taskRepository.findAllById(requested);
+        Set<Integer> existing = new HashSet<>();
+        for (TaskEntity task : found) {
+            existing.add(task.getId());
+            entityManager.detach(task);
+        }
+        taskRepository.deleteAllByIdInBatch(existing);
+        found.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.deleted(task)));
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            if (id == null) {
+                results.add(new BulkItemResult(i, null, BulkItemResult.Status.INVALID, "Task id is empty"));
+            } else if (existing.contains(id)) {
+                results.add(new BulkItemResult(i, id, BulkItemResult.Status.DELETED, null));
+            } else {
+                results.add(new BulkItemResult(i, id, BulkItemResult.Status.NOT_FOUND,
+                        "Task with ID " + id + " does not exist."));
+            }
+        }
+        return results;
+    }
+
+    // Jackson flushes after every written value by default, which would push each task through
+    // Tomcat (and gzip) as its own chunk; the generator's buffer is flushed when it fills instead.
+    // The servlet stream is left open for the container to finish.
+    private ObjectWriter streamingTaskWriter() {
+        return objectMapper.writerFor(TaskResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private static void copyFields(TaskEntity source, TaskEntity target) {
+        target.setTaskName(source.getTaskName());
+        target.setDescription(source.getDescription());
+        target.setUserName(source.getUserName());
+        target.setStatus(source.getStatus());
+        target.setPriority(source.getPriority());
+        target.setDueDate(source.getDueDate());
+        target.setAssignedTo(source.getAssignedTo());
+    }
 }
@@ -0,0 +1,200 @@
+package com.example.demo.Services;
+
+import com.example.demo.DTO.TaskCountRow;
+import com.example.demo.DTO.TaskStatsResponse;
+import com.example.demo.DTO.TaskVersionRow;
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Repositories.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Task counts by status and priority plus overdue counts, per owner and overall, kept in memory
+ * and updated from committed {@link TaskChangedEvent}s so a dashboard read costs no query.
+ * A periodic GROUP BY rebuild replaces the counters, correcting drift from writes this
+ * instance did not see (other instances, direct SQL).
+ */
+@Service
+public class TaskStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object lock = new Object();
+    private Map<String, Counters> byUser = new HashMap<>();
+    private Counters global = new Counters();
+    // changes committed while a rebuild runs; those its snapshot missed are replayed onto its result
+    private List<TaskChangedEvent> duringRebuild;
+
+    public TaskStatsService(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public TaskStatsResponse getStats(String userName) {
+        LocalDate today = LocalDate.now();
+        synchronized (lock) {
+            Counters counters = userName == null ? global : byUser.get(userName);
+            return counters == null ? new Counters().toResponse(today) : counters.toResponse(today);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (lock) {
+            apply(event, byUser, global);
+            if (duringRebuild != null) {
+                duringRebuild.add(event);
+            }
+        }
+    }
+
+    // first run right after startup, then periodically
+    @Scheduled(initialDelay = 0, fixedDelayString = "${task.stats.reconcile-interval:10m}")
+    public void reconcile() {
+        synchronized (lock) {
+            duringRebuild = new ArrayList<>();
+        }
+        try {
+            // the GROUP BY and the version lookup below read one snapshot, on the primary
+            transactionTemplate.executeWithoutResult(status -> rebuild());
+        } catch (RuntimeException e) {
+            log.warn("Task statistics reconciliation failed", e);
+        } finally {
+            synchronized (lock) {
+                duringRebuild = null;
+            }
+        }
+    }
+
+    private void rebuild() {
+        Map<String, Counters> users = new HashMap<>();
+        Counters all = new Counters();
+        for (TaskCountRow row : taskRepository.countByOwnerStatusPriorityAndDueDate()) {
+            users.computeIfAbsent(row.userName(), k -> new Counters())
+                    .add(row.status(), row.priority(), row.dueDate(), row.count());
+            all.add(row.status(), row.priority(), row.dueDate(), row.count());
+        }
+        synchronized (lock) {
+            // changes committed after the rebuild started may or may not be in the snapshot;
+            // replay only those it did not see, so none is counted twice or dropped
+            for (TaskChangedEvent event : unseen(duringRebuild)) {
+                apply(event, users, all);
+            }
+            if (global.total != all.total) {
+                log.info("Task statistics reconciled: total {} -> {}", global.total, all.total);
+            }
+            byUser = users;
+            global = all;
+        }
+    }
+
+    /**
+     * The events the snapshot does not include, judged per task against the version the snapshot
+     * holds: an event is included when its written version is at or below that one. A task absent
+     * from the snapshot was either deleted in it (every event included) or created after it (none
+     * included); when both fit, replaying all or none of its events nets to the same counts.
+     */
+    private List<TaskChangedEvent> unseen(List<TaskChangedEvent> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        Map<Integer, TaskChangedEvent> firstById = new HashMap<>();
+        for (TaskChangedEvent event : events) {
+            firstById.putIfAbsent(event.taskId(), event);
+        }
+        Map<Integer, Long> versions = new HashMap<>();
+        for (TaskVersionRow row : taskRepository.findVersionsByIdIn(firstById.keySet())) {
+            versions.put(row.id(), row.version());
+        }
+        List<TaskChangedEvent> unseen = new ArrayList<>();
+        for (TaskChangedEvent event : events) {
+            Long version = versions.get(event.taskId());
+            boolean seen = version != null
+                    ? event.after() != null && event.after().getVersion() <= version
+                    : firstById.get(event.taskId()).before() != null;
+            if (!seen) {
+                unseen.add(event);
+            }
+        }
+        return unseen;
+    }
+
+    private static void apply(TaskChangedEvent event, Map<String, Counters> users, Counters all) {
+        if (event.before() != null) {
+            add(event.before(), -1, users, all);
+        }
+        if (event.after() != null) {
+            add(event.after(), 1, users, all);
+        }
+    }
+
+    private static void add(TaskEntity task, long delta, Map<String, Counters> users, Counters all) {
+        users.computeIfAbsent(task.getUserName(), k -> new Counters())
+                .add(task.getStatus(), task.getPriority(), task.getDueDate(), delta);
+        all.add(task.getStatus(), task.getPriority(), task.getDueDate(), delta);
+    }
+
+    // guarded by the service lock
+    private static class Counters {
+
+        private long total;
+        private final long[] byStatus = new long[TaskStatus.values().length];
+        private final long[] byPriority = new long[TaskPriority.values().length];
+        // open (not completed) tasks per due date; the overdue count is derived from it once per day
+        private final TreeMap<LocalDate, Long> openByDueDate = new TreeMap<>();
+        private long overdue;
+        private LocalDate overdueAsOf;
+
+        void add(TaskStatus status, TaskPriority priority, LocalDate dueDate, long delta) {
+            total += delta;
+            if (status != null) {
+                byStatus[status.ordinal()] += delta;
+            }
+            if (priority != null) {
+                byPriority[priority.ordinal()] += delta;
+            }
+            if (dueDate != null && status != TaskStatus.COMPLETED) {
+                openByDueDate.merge(dueDate, delta, (a, b) -> a + b == 0 ? null : a + b);
+                if (overdueAsOf != null && dueDate.isBefore(overdueAsOf)) {
+                    overdue += delta;
+                }
+            }
+        }
+
+        TaskStatsResponse toResponse(LocalDate today) {
+            if (!today.equals(overdueAsOf)) {
+                overdue = openByDueDate.headMap(today).values().stream().mapToLong(Long::longValue).sum();
+                overdueAsOf = today;
+            }
+            Map<String, Long> statuses = new LinkedHashMap<>();
+            for (TaskStatus status : TaskStatus.values()) {
+                statuses.put(status.getLabel(), byStatus[status.ordinal()]);
+            }
+            Map<String, Long> priorities = new LinkedHashMap<>();
+            for (TaskPriority priority : TaskPriority.values()) {
+                priorities.put(priority.getLabel(), byPriority[priority.ordinal()]);
+            }
+            return new TaskStatsResponse(total, statuses, priorities, overdue);
+        }
+    }
+}
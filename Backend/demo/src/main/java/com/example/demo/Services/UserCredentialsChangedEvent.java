@@ -0,0 +1,9 @@
+package com.example.demo.Services;
+
+/**
+ * Published when a user's password changes or the user is deleted, after the write. Anything
+ * holding that user's credentials (the {@link UserDetailsCache}) must drop them once the write
+ * has committed.
+ */
+public record UserCredentialsChangedEvent(String username) {
+}
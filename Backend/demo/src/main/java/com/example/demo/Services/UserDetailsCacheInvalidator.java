@@ -0,0 +1,26 @@
+package com.example.demo.Services;
+
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts a user's cached {@code UserDetails} after the write that changed their credentials has
+ * committed, as {@link TaskCacheInvalidator} does for tasks: evicting earlier would let a
+ * concurrent authentication re-cache the old password hash. Writes made outside a transaction
+ * (each repository call commits on its own) are already committed when the event is published.
+ */
+@Component
+public class UserDetailsCacheInvalidator {
+
+    private final UserCache userCache;
+
+    public UserDetailsCacheInvalidator(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        userCache.removeUserFromCache(event.username());
+    }
+}
@@ -2,28 +2,40 @@ package com.example.demo.Services;
 
 import com.example.demo.Entities.UserEntity;
 import com.example.demo.Repositories.UserRepository;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class UserDetailsServices implements UserDetailsService {
+public class UserDetailsServices implements UserDetailsService, UserDetailsPasswordService {
 
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserDetailsServices(UserRepository userRepository) {
+    public UserDetailsServices(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserEntity user = userRepository.findByUsername(username).orElse(null);
-        return User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .build();
+        UserEntity user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return AuthenticatedUser.from(user);
     }
-}
\ No newline at end of file
+
+    // called by DaoAuthenticationProvider after a successful login when the stored hash needs upgrading
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserEntity entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        userRepository.save(entity);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getUsername()));
+        return AuthenticatedUser.from(entity);
+    }
+}
@@ -1,52 +1,85 @@
 package com.example.demo.Services;
 
 import com.example.demo.DTO.RegisterRequest;
+import com.example.demo.DTO.UserPageResponse;
 import com.example.demo.DTO.UserResponse;
 import com.example.demo.Entities.UserEntity;
+import com.example.demo.Mappers.UserMapper;
 import com.example.demo.Repositories.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.Optional;
 
 @Service
 public class UserServices {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
 
     private final UserRepository repository;
     private final PasswordEncoder passwordEncoder;
+    private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserServices(UserRepository repository, PasswordEncoder passwordEncoder) {
+    public UserServices(UserRepository repository, PasswordEncoder passwordEncoder, UserMapper userMapper,
+                        ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.passwordEncoder = passwordEncoder;
+        this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     public UserResponse createUser(RegisterRequest request) {
-        UserEntity user = new UserEntity();
-        user.setName(request.getName());
-        user.setUsername(request.getUsername());
+        UserEntity user = userMapper.toEntity(request);
         user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setEmail(request.getEmail());
 
         UserEntity saved = repository.save(user);
-        return new UserResponse(saved.getId(), saved.getName(), saved.getUsername(), saved.getEmail());
+        return userMapper.toResponse(saved);
     }
 
-    public List<UserResponse> getAllUsers() {
-        return repository.findAll()
-                .stream()
-                .map(u -> new UserResponse(u.getId(), u.getName(), u.getUsername(), u.getEmail()))
-                .toList();
+    public UserPageResponse getAllUsers(int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Slice<UserResponse> users = repository.findAllProjectedBy(PageRequest.of(Math.max(page, 0), pageSize, Sort.by("id")))
+                .map(userMapper::toResponse);
+        return new UserPageResponse(users.getContent(), users.hasNext() ? users.getNumber() + 1 : null);
+    }
+
+    public Optional<UserResponse> getUserById(int id) {
+        return repository.findSummaryById(id).map(userMapper::toResponse);
     }
 
     public void deleteUser(int id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(user -> {
+            repository.delete(user);
+            eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getUsername()));
+        });
     }
 
-    public UserResponse findUserByUsername(String username) {
+    /**
+     * Sets a new password once the current one has been confirmed; false if it does not match.
+     * The BCrypt work runs between the read and the write rather than inside one transaction, so
+     * no connection is held while hashing.
+     */
+    public boolean changePassword(String username, String currentPassword, String newPassword) {
         UserEntity user = repository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return new UserResponse(user.getId(), user.getName(), user.getUsername(), user.getEmail());
+        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+            return false;
+        }
+        user.setPassword(passwordEncoder.encode(newPassword));
+        repository.save(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(username));
+        return true;
     }
 
+    public UserResponse findUserByUsername(String username) {
+        UserEntity user = repository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return userMapper.toResponse(user);
+    }
 }
@@ -0,0 +1,22 @@
+-- Schema as previously generated by ddl-auto=update. Existing databases are baselined at
+-- this version (spring.flyway.baseline-on-migrate), so this only runs on an empty schema.
+CREATE TABLE IF NOT EXISTS users (
+    id       INT NOT NULL AUTO_INCREMENT,
+    email    VARCHAR(255),
+    name     VARCHAR(255),
+    password VARCHAR(255),
+    username VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          INT NOT NULL AUTO_INCREMENT,
+    assigned_to VARCHAR(255),
+    description VARCHAR(255),
+    due_date    VARCHAR(255),
+    priority    VARCHAR(255),
+    status      VARCHAR(255),
+    task_name   VARCHAR(255),
+    user_name   VARCHAR(255),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,30 @@
+-- status / priority: free text labels ("In Progress") -> enum constant names (IN_PROGRESS)
+UPDATE tasks SET status = CASE UPPER(TRIM(status))
+    WHEN 'IN PROGRESS' THEN 'IN_PROGRESS'
+    WHEN 'IN_PROGRESS' THEN 'IN_PROGRESS'
+    WHEN 'COMPLETED' THEN 'COMPLETED'
+    ELSE 'PENDING'
+END;
+
+UPDATE tasks SET priority = CASE UPPER(TRIM(priority))
+    WHEN 'LOW' THEN 'LOW'
+    WHEN 'HIGH' THEN 'HIGH'
+    WHEN 'CRITICAL' THEN 'CRITICAL'
+    ELSE 'MEDIUM'
+END;
+
+ALTER TABLE tasks MODIFY COLUMN status VARCHAR(20);
+ALTER TABLE tasks MODIFY COLUMN priority VARCHAR(20);
+
+-- due_date: 'YYYY-MM-DD...' strings -> DATE; anything unparseable becomes NULL
+ALTER TABLE tasks ADD COLUMN due_date_converted DATE;
+UPDATE tasks SET due_date_converted = CAST(LEFT(due_date, 10) AS DATE)
+    WHERE REGEXP_LIKE(due_date, '^[0-9]{4}-[0-9]{2}-[0-9]{2}');
+ALTER TABLE tasks DROP COLUMN due_date;
+ALTER TABLE tasks RENAME COLUMN due_date_converted TO due_date;
+
+CREATE INDEX idx_tasks_user_status ON tasks (user_name, status);
+CREATE INDEX idx_tasks_assignee_due ON tasks (assigned_to, due_date);
+
+-- fails if duplicate usernames already exist; those rows have to be cleaned up by hand first
+CREATE UNIQUE INDEX ux_users_username ON users (username);
@@ -0,0 +1,10 @@
+-- Block id allocation for tasks (TableGenerator, pooled-lo, allocationSize 50) so inserts can be
+-- batched. next_val holds the last id handed out, so new ids continue after the AUTO_INCREMENT ones.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'tasks', COALESCE(MAX(id), 0) FROM tasks;
@@ -0,0 +1,2 @@
+-- optimistic locking counter for TaskEntity (@Version)
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- last-modified stamp per task (@UpdateTimestamp); with the row count it forms the ETag of a user's task list
+ALTER TABLE tasks ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+CREATE INDEX idx_tasks_user_updated ON tasks (user_name, updated_at);
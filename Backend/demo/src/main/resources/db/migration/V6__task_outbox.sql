@@ -0,0 +1,13 @@
+-- transactional outbox: one row per committed transaction that changed tasks (TaskOutboxWriter),
+-- drained in id order by TaskOutboxDispatcher and deleted once every handler has accepted it
+CREATE TABLE task_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    payload LONGTEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(1000),
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_task_outbox_status ON task_outbox (status, id);
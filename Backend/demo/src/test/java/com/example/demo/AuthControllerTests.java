@@ -0,0 +1,140 @@
+package com.example.demo;
+
+import com.example.demo.DTO.RegisterRequest;
+import com.example.demo.Services.JWTService;
+import com.example.demo.Services.UserDetailsCache;
+import com.example.demo.Services.UserServices;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static com.example.demo.QueryAssertions.statements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login through the real security chain. Every test registers its own user and logs in from an
+ * address of its own, since the rate limiter counts per username and per client IP.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerTests {
+
+    private static final String PASSWORD = "auth-test-pw";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private UserServices userServices;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Test
+    void loginAnswersFromTheAuthenticatedPrincipalWithOneQuery() throws Exception {
+        String username = register();
+
+        String body = login(username, uniqueIp())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(username))
+                .andExpect(jsonPath("$.email").value(username + "@example.com"))
+                // the users lookup done by the authentication itself; nothing is read again to build the response
+                .andExpect(statements(1))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(username, jwtService.verifyToken(objectMapper.readTree(body).get("token").asText()).getSubject());
+    }
+
+    @Test
+    void loginIsRateLimitedPerUsername() throws Exception {
+        String username = register();
+        String ip = uniqueIp();
+        // security.login.rate-limit.per-username defaults to 10 attempts per 1m window
+        for (int i = 0; i < 10; i++) {
+            login(username, ip).andExpect(status().isOk());
+        }
+
+        login(username, ip)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"));
+        // the limit is on the username, whichever address the attempts come from
+        login(username, uniqueIp()).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void changingThePasswordEvictsTheCachedUser() throws Exception {
+        String username = register();
+        String token = "Bearer " + jwtService.getJWTToken(username);
+        // an authenticated request caches the user's details for the JWT filter
+        mockMvc.perform(get("/api/cache/stats").header(HttpHeaders.AUTHORIZATION, token)).andExpect(status().isOk());
+        assertNotNull(userDetailsCache.getUserFromCache(username));
+
+        changePassword(token, "not-the-password").andExpect(status().isBadRequest());
+        assertNotNull(userDetailsCache.getUserFromCache(username));
+
+        changePassword(token, PASSWORD).andExpect(status().isOk());
+        assertNull(userDetailsCache.getUserFromCache(username));
+        login(username, uniqueIp(), "new-auth-test-pw").andExpect(status().isOk());
+    }
+
+    private String register() {
+        String username = "auth-test-" + UUID.randomUUID();
+        RegisterRequest user = new RegisterRequest();
+        user.setName("Auth Test");
+        user.setUsername(username);
+        user.setPassword(PASSWORD);
+        user.setEmail(username + "@example.com");
+        userServices.createUser(user);
+        return username;
+    }
+
+    private ResultActions login(String username, String ip) throws Exception {
+        return login(username, ip, PASSWORD);
+    }
+
+    private ResultActions login(String username, String ip, String password) throws Exception {
+        return mockMvc.perform(post("/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"));
+    }
+
+    private ResultActions changePassword(String token, String currentPassword) throws Exception {
+        return mockMvc.perform(put("/api/users/password")
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"currentPassword\":\"" + currentPassword + "\",\"newPassword\":\"new-auth-test-pw\"}"));
+    }
+
+    private static String uniqueIp() {
+        int n = (int) (UUID.randomUUID().getLeastSignificantBits() & 0xFFFFFF);
+        return "10." + (n >>> 16) + "." + ((n >>> 8) & 0xFF) + "." + (n & 0xFF);
+    }
+}
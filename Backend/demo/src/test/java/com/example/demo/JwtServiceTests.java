@@ -0,0 +1,135 @@
+package com.example.demo;
+
+import com.example.demo.Config.JwtProperties;
+import com.example.demo.Services.JWTService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtServiceTests {
+
+    // same key as application-test.properties
+    private static final String SECRET = "dGVzdC1vbmx5LWp3dC1zaWduaW5nLWtleS0wMTIzNDU2Nzg5";
+
+    @Test
+    void verifiesItsOwnTokens() {
+        JWTService jwtService = new JWTService(properties(Duration.ofHours(1)));
+
+        assertEquals("alice", jwtService.verifyToken(jwtService.getJWTToken("alice")).getSubject());
+    }
+
+    @Test
+    void repeatedVerificationIsAnsweredFromCache() {
+        JWTService jwtService = new JWTService(properties(Duration.ofHours(1)));
+        String token = jwtService.getJWTToken("alice");
+
+        Claims first = jwtService.verifyToken(token);
+        assertSame(first, jwtService.verifyToken(token));
+    }
+
+    @Test
+    void rejectsATamperedToken() {
+        JWTService jwtService = new JWTService(properties(Duration.ofHours(1)));
+        String token = jwtService.getJWTToken("alice");
+        // verified once, so a cache keyed on anything less than the whole token would let the forgery through
+        jwtService.verifyToken(token);
+
+        // alice's header and signature around another subject's claims
+        String[] parts = token.split("\\.");
+        String otherClaims = jwtService.getJWTToken("mallory").split("\\.")[1];
+        assertThrows(SignatureException.class,
+                () -> jwtService.verifyToken(parts[0] + "." + otherClaims + "." + parts[2]));
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        JWTService jwtService = new JWTService(properties(Duration.ofMinutes(-1)));
+
+        String token = jwtService.getJWTToken("alice");
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verifyToken(token));
+        // an expired token is not cached as verified either
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verifyToken(token));
+    }
+
+    @Test
+    void tokensSignedWithARetiredKeyVerifyUntilTheKeyIsRemoved() {
+        String oldKey = key("old");
+        String newKey = key("new");
+        String issuedBeforeRotation = new JWTService(keys(Map.of("2025-01", oldKey), "2025-01")).getJWTToken("alice");
+
+        JWTService rotated = new JWTService(keys(Map.of("2025-01", oldKey, "2025-06", newKey), "2025-06"));
+        String issuedAfterRotation = rotated.getJWTToken("bob");
+        assertEquals("alice", rotated.verifyToken(issuedBeforeRotation).getSubject());
+        assertEquals("bob", rotated.verifyToken(issuedAfterRotation).getSubject());
+        assertEquals("2025-06", Jwts.parserBuilder().setSigningKey(Decoders.BASE64.decode(newKey)).build()
+                .parseClaimsJws(issuedAfterRotation).getHeader().getKeyId());
+
+        JWTService retired = new JWTService(keys(Map.of("2025-06", newKey), "2025-06"));
+        assertThrows(SignatureException.class, () -> retired.verifyToken(issuedBeforeRotation));
+        assertEquals("bob", retired.verifyToken(issuedAfterRotation).getSubject());
+    }
+
+    @Test
+    void tokensWithoutAKidAreCheckedAgainstTheActiveKey() {
+        String oldKey = key("old");
+        String newKey = key("new");
+        JWTService jwtService = new JWTService(keys(Map.of("2025-01", oldKey, "2025-06", newKey), "2025-06"));
+
+        assertEquals("alice", jwtService.verifyToken(withoutKid("alice", newKey)).getSubject());
+        assertThrows(SignatureException.class, () -> jwtService.verifyToken(withoutKid("alice", oldKey)));
+    }
+
+    @Test
+    void rejectsAnActiveKidThatIsNotConfigured() {
+        assertThrows(IllegalStateException.class,
+                () -> new JWTService(keys(Map.of("2025-01", key("old")), "2025-06")));
+    }
+
+    @Test
+    void rejectsKeysShorterThan256Bits() {
+        String shortKey = Base64.getEncoder().encodeToString(new byte[16]);
+        assertThrows(IllegalStateException.class, () -> new JWTService(keys(Map.of("2025-01", shortKey), "2025-01")));
+    }
+
+    private static JwtProperties keys(Map<String, String> keys, String activeKid) {
+        JwtProperties properties = new JwtProperties();
+        properties.setKeys(new LinkedHashMap<>(keys));
+        properties.setActiveKid(activeKid);
+        return properties;
+    }
+
+    // as issued before tokens carried a kid header
+    private static String withoutKid(String username, String key) {
+        return Jwts.builder()
+                .setSubject(username)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(key)))
+                .compact();
+    }
+
+    private static String key(String seed) {
+        return Base64.getEncoder().encodeToString((seed + "-jwt-signing-key-for-rotation-tests").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JwtProperties properties(Duration expiration) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(expiration);
+        return properties;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo;
+
+import com.example.demo.Services.LoginRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTests {
+
+    @Test
+    void limitsAttemptsPerUsername() {
+        LoginRateLimiter limiter = new LoginRateLimiter(2, 100, Duration.ofMinutes(1));
+
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.2"));
+        assertFalse(limiter.tryAcquire("alice", "10.0.0.3"));
+        assertTrue(limiter.tryAcquire("bob", "10.0.0.1"));
+    }
+
+    @Test
+    void limitsAttemptsPerAddress() {
+        LoginRateLimiter limiter = new LoginRateLimiter(100, 2, Duration.ofMinutes(1));
+
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("bob", "10.0.0.1"));
+        assertFalse(limiter.tryAcquire("carol", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("carol", "10.0.0.2"));
+    }
+
+    @Test
+    void attemptsAreAllowedAgainOnceTheWindowHasPassed() throws Exception {
+        LoginRateLimiter limiter = new LoginRateLimiter(1, 100, Duration.ofMillis(500));
+
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.1"));
+        // further attempts inside the window do not extend it
+        Thread.sleep(250);
+        assertFalse(limiter.tryAcquire("alice", "10.0.0.1"));
+        Thread.sleep(400);
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void recordsAuthAndStatementMeters() throws Exception {
+        mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Metrics\",\"username\":\"metrics-user\",\"password\":\"secret-pw\",\"email\":\"metrics@example.com\"}"))
+                .andExpect(status().isOk());
+        String login = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"metrics-user\",\"password\":\"secret-pw\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode body = objectMapper.readTree(login);
+
+        mockMvc.perform(get("/api/task/stats").header("Authorization", "Bearer " + body.get("token").asText()))
+                .andExpect(status().isOk());
+
+        assertTrue(meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count() >= 1);
+        assertTrue(meterRegistry.get("auth.jwt.verify").tag("result", "valid").timer().count() >= 1);
+        // registration and login both touch the users table
+        assertTrue(meterRegistry.get("hibernate.statements.per.request").tag("uri", "/auth/login")
+                .summary().totalAmount() >= 1);
+        meterRegistry.get("hibernate.statements.per.request").tag("uri", "/api/task/stats").summary();
+    }
+
+    @Test
+    void exposesPrometheusScrapeWithoutAuthentication() throws Exception {
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("hikaricp_connections_pending"));
+        assertTrue(scrape.contains("cache_gets_total{application=\"demo\",cache=\"userDetails\""));
+        assertTrue(scrape.contains("executor_queued_tasks{application=\"demo\",name=\"password-hashing\"}"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo;
+
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Services.TaskService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the prod profile on its own H2 database: it must boot against the Flyway schema with
+// ddl-auto=validate, and writes must still commit with autocommit off in the pool
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:task_manager_prod;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles({"test", "prod"})
+class ProdProfileTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void poolAndSessionSettings() {
+        assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+        HikariDataSource pool = (HikariDataSource) ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+        assertEquals(20, pool.getMaximumPoolSize());
+        assertEquals(20, pool.getMinimumIdle());
+        assertFalse(pool.isAutoCommit());
+        assertTrue(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    @Test
+    void writesCommitWithoutAutocommit() {
+        TaskEntity task = new TaskEntity();
+        task.setUserName("prod-profile-user");
+        task.setTaskName("Committed");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        int id = taskService.save(task).getId();
+
+        // a different pooled connection only sees the row if the service transaction committed
+        Integer count = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM tasks WHERE id = ?", Integer.class, id);
+        assertEquals(1, count);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo;
+
+import com.example.demo.Config.QueryMetricsFilter;
+import com.example.demo.Config.QueryStats;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the SQL a piece of work issues. For MockMvc requests use the result matchers, which read
+ * the stats {@link QueryMetricsFilter} leaves on the request; for direct service calls wrap the
+ * call in {@link #measure(Executable)}. Cache state counts: a read served from the task cache
+ * issues no statement.
+ */
+final class QueryAssertions {
+
+    private QueryAssertions() {
+    }
+
+    static ResultMatcher statements(int expected) {
+        return result -> assertEquals(expected, stats(result.getRequest().getAttribute(QueryMetricsFilter.STATS_ATTRIBUTE))
+                .getStatements(), "SQL statements issued by " + result.getRequest().getRequestURI());
+    }
+
+    static ResultMatcher statementsAtMost(int max) {
+        return result -> {
+            int statements = stats(result.getRequest().getAttribute(QueryMetricsFilter.STATS_ATTRIBUTE)).getStatements();
+            assertTrue(statements <= max, result.getRequest().getRequestURI() + " issued " + statements
+                    + " SQL statements, expected at most " + max);
+        };
+    }
+
+    static QueryStats measure(Executable work) throws Throwable {
+        QueryStats.start();
+        try {
+            work.execute();
+        } catch (Throwable e) {
+            QueryStats.stop();
+            throw e;
+        }
+        return QueryStats.stop();
+    }
+
+    private static QueryStats stats(Object attribute) {
+        assertNotNull(attribute, "no query stats on the request; is QueryMetricsFilter registered?");
+        return (QueryStats) attribute;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo;
+
+import com.example.demo.DTO.TaskSummary;
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Services.TaskSearchService;
+import com.example.demo.Services.TaskService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// two in-memory H2 databases: the usual test database as primary and a second one as replica
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=jdbc:h2:mem:task_manager_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password="
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @BeforeEach
+    void migrateReplica() {
+        // nothing replicates here, so give the replica the same schema by hand
+        Flyway.configure().dataSource(replica).load().migrate();
+    }
+
+    @Test
+    void writesGoToThePrimaryAndReadOnlyReadsToTheReplica() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        int id = taskService.save(task("written to primary")).getId();
+
+        // the row only exists on the primary, so a read served by the replica does not see it
+        assertTrue(firstPageFrom(id).isEmpty());
+
+        replicaJdbc.update("insert into tasks (id, user_name, task_name, status, priority, version, updated_at) "
+                + "values (?, 'replica-user', 'seen on replica', 'PENDING', 'LOW', 0, current_timestamp)", id);
+        assertEquals("seen on replica", firstPageFrom(id).get(0).getTaskName());
+    }
+
+    @Test
+    void cacheLoadsAndETagsReadTheirOwnWrites() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        TaskEntity saved = taskService.save(task("first write"));
+        int id = saved.getId();
+        // the replica lags: it still has the row as it was before the write
+        replicaJdbc.update("insert into tasks (id, user_name, task_name, status, priority, version, updated_at) "
+                + "values (?, 'replica-user', 'stale', 'PENDING', 'LOW', 0, current_timestamp)", id);
+        assertEquals("first write", taskService.getTaskById(id).orElseThrow().getTaskName());
+
+        saved.setTaskName("second write");
+        TaskEntity updated = taskService.updateTask(saved);
+
+        assertEquals("second write", taskService.getTaskById(id).orElseThrow().getTaskName());
+        assertEquals(TaskService.taskETag(updated), taskService.getTaskETag(id).orElseThrow());
+        assertTrue(taskService.getTasksByUserName("replica-user").stream()
+                .anyMatch(task -> task.getId() == id && task.getTaskName().equals("second write")));
+        assertEquals(TaskService.userTasksETag(taskService.getTasksByUserName("replica-user")),
+                taskService.getUserTasksETag("replica-user").orElseThrow());
+    }
+
+    @Test
+    void searchIndexIsRebuiltFromThePrimary() throws Exception {
+        // indexed live when it commits, before the rebuild starts; the replica never gets the row
+        int id = taskService.save(task("replicalag rebuild")).getId();
+
+        taskSearchService.rebuild().get(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of(id), taskSearchService.search("replicalag", "replica-user", 0, 10).getHits().stream()
+                .map(hit -> hit.getTask().getId()).toList());
+    }
+
+    private List<TaskSummary> firstPageFrom(int id) {
+        return taskService.listTasks(id - 1, 1, null, null, null, null, null).getItems();
+    }
+
+    private static TaskEntity task(String name) {
+        TaskEntity task = new TaskEntity();
+        task.setUserName("replica-user");
+        task.setTaskName(name);
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        return task;
+    }
+}
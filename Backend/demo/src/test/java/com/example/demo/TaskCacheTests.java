@@ -0,0 +1,80 @@
+package com.example.demo;
+
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Services.CaffeineTaskCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskCacheTests {
+
+    private final CaffeineTaskCache cache = new CaffeineTaskCache(100, 1000, Duration.ofMinutes(1));
+
+    @Test
+    void evictionDoesNotWaitForInFlightLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TaskEntity stale = new TaskEntity();
+        stale.setTaskName("before the write");
+
+        CompletableFuture<List<TaskEntity>> reader = CompletableFuture.supplyAsync(() ->
+                cache.getUserTasks("owner", key -> {
+                    loading.countDown();
+                    await(release);
+                    return List.of(stale);
+                }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // a committing writer evicts while holding its connection; it must not wait for the load
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> cache.evictUserTasks("owner"));
+
+        release.countDown();
+        assertEquals("before the write", reader.get(5, TimeUnit.SECONDS).get(0).getTaskName());
+        // the load started before the eviction is not cached
+        assertNull(cache.peekUserTasks("owner"));
+    }
+
+    @Test
+    void concurrentReadersShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<TaskEntity> first = CompletableFuture.supplyAsync(() -> cache.getTask(1, id -> {
+            loads.incrementAndGet();
+            await(release);
+            TaskEntity task = new TaskEntity();
+            task.setId(id);
+            return task;
+        }));
+        while (cache.stats().get("tasks").misses() == 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<TaskEntity> second = CompletableFuture.supplyAsync(() -> cache.getTask(1, id -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+
+        release.countDown();
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1, second.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
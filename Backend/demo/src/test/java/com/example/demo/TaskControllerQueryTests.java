@@ -0,0 +1,265 @@
+package com.example.demo;
+
+import com.example.demo.Config.QueryMetricsFilter;
+import com.example.demo.Config.QueryStats;
+import com.example.demo.DTO.RegisterRequest;
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Repositories.UserRepository;
+import com.example.demo.Services.JWTService;
+import com.example.demo.Services.TaskCache;
+import com.example.demo.Services.TaskSearchService;
+import com.example.demo.Services.TaskService;
+import com.example.demo.Services.UserServices;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.example.demo.QueryAssertions.statements;
+import static com.example.demo.QueryAssertions.statementsAtMost;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts of the task endpoints. A count going up usually means a new N+1 or a lost
+ * batch; if the change is intended, update the number here. Every test starts with a cold task
+ * cache and with the caller's UserDetails already cached, so only the endpoint's own SQL counts.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskControllerQueryTests {
+
+    private static final String OWNER = "query-count-user";
+    private static final int BULK = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskSearchService searchService;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private UserServices userServices;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (userRepository.findByUsername(OWNER).isEmpty()) {
+            RegisterRequest user = new RegisterRequest();
+            user.setName("Query Count");
+            user.setUsername(OWNER);
+            user.setPassword("query-count-pw");
+            user.setEmail("query-count@example.com");
+            userServices.createUser(user);
+        }
+        token = "Bearer " + jwtService.getJWTToken(OWNER);
+        // the stats endpoint runs no SQL of its own; this just loads and caches the caller
+        perform(get("/api/task/stats")).andExpect(status().isOk());
+        taskCache.clear();
+    }
+
+    @Test
+    void reads() throws Exception {
+        save("Read me");
+        taskCache.clear();
+
+        perform(get("/api/task/stats").param("user", OWNER)).andExpect(statements(0));
+        perform(get("/api/task/list").param("size", "20")).andExpect(statements(1));
+    }
+
+    @Test
+    void taskById() throws Exception {
+        int id = save("By id").getId();
+        taskCache.clear();
+
+        // version for the ETag, then the task itself
+        String etag = perform(get("/api/task/getTaskById/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(statements(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // both now answered from the task cache
+        perform(get("/api/task/getTaskById/{id}", id)).andExpect(statements(0));
+        perform(get("/api/task/getTaskById/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(statements(0));
+    }
+
+    @Test
+    void tasksByUserName() throws Exception {
+        save("Listed one");
+        save("Listed two");
+        taskCache.clear();
+
+        // watermark for the ETag, then the list
+        String etag = perform(get("/api/task/getByUserName/{username}", OWNER))
+                .andExpect(status().isOk())
+                .andExpect(statements(2))
+                .andExpect(jsonPath("$[0].taskName").isString())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        perform(get("/api/task/getByUserName/{username}", OWNER)).andExpect(statements(0));
+        perform(get("/api/task/getByUserName/{username}", OWNER).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(statements(0));
+    }
+
+    @Test
+    void search() throws Exception {
+        searchService.rebuild().join();
+        save("Calibrate spectrometer");
+        save("Calibrate oscilloscope");
+        searchService.refresh();
+
+        // one query loads the whole page of hits
+        perform(get("/api/task/search").param("q", "calibrate").param("owner", OWNER))
+                .andExpect(status().isOk())
+                .andExpect(statements(1));
+    }
+
+    @Test
+    void singleWrites() throws Exception {
+        // the id block is refilled every 50 inserts, which costs up to two extra statements
+        perform(post("/api/task/createTask").contentType(MediaType.APPLICATION_JSON).content(json("Created", 0)))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(4));
+
+        int id = save("Changed").getId();
+        perform(put("/api/task/update/{id}", id).contentType(MediaType.APPLICATION_JSON).content(json("Replaced", id)))
+                .andExpect(status().isOk())
+                .andExpect(statements(3));
+        perform(patch("/api/task/update/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"Completed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(statements(3));
+        perform(delete("/api/task/delete/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(statements(3));
+    }
+
+    @Test
+    void bulkWritesDoNotScaleWithTheBatch() throws Exception {
+        String created = IntStream.range(0, BULK).mapToObj(i -> json("Bulk " + i, 0))
+                .collect(Collectors.joining(",", "[", "]"));
+        perform(post("/api/task/bulk/create").contentType(MediaType.APPLICATION_JSON).content(created))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(4));
+
+        List<Integer> ids = IntStream.range(0, BULK).mapToObj(i -> save("Bulk existing " + i).getId()).toList();
+        String updated = ids.stream().map(id -> json("Bulk updated " + id, id))
+                .collect(Collectors.joining(",", "[", "]"));
+        // one SELECT, one batched UPDATE, one outbox row
+        perform(put("/api/task/bulk/update").contentType(MediaType.APPLICATION_JSON).content(updated))
+                .andExpect(status().isOk())
+                .andExpect(statements(3));
+        TaskEntity first = taskService.getTaskById(ids.get(0)).orElseThrow();
+        assertEquals("Bulk updated " + ids.get(0), first.getTaskName());
+        assertEquals(1, first.getVersion());
+        perform(post("/api/task/bulk/delete").contentType(MediaType.APPLICATION_JSON).content(ids.toString()))
+                .andExpect(status().isOk())
+                .andExpect(statements(3));
+    }
+
+    @Test
+    void streamedResponsesUseOneQuery() throws Throwable {
+        save("Exported");
+
+        // these write on an async thread, outside the request's scope, so measure the service calls
+        QueryStats stats = QueryAssertions.measure(() -> taskService.exportNdjson(OutputStream.nullOutputStream()));
+        assertEquals(1, stats.getStatements());
+        stats = QueryAssertions.measure(() -> taskService.writeAllTasksAsJson(OutputStream.nullOutputStream()));
+        assertEquals(1, stats.getStatements());
+    }
+
+    @Test
+    void getAllStreamsJsonArray() throws Exception {
+        int id = save("Streamed").getId();
+
+        MvcResult started = perform(get("/api/task/getAll")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[?(@.id == " + id + ")].taskName").value("Streamed"));
+    }
+
+    @Test
+    void requestOverBudgetFails() {
+        QueryMetricsFilter filter = new QueryMetricsFilter(new SimpleMeterRegistry(), 1, Duration.ofSeconds(5), true);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                taskService.getTaskById(save("Over budget").getId());
+                taskService.listTasks(0, 20, null, null, null, null, null);
+            }
+        });
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("GET", "/n-plus-one"), new MockHttpServletResponse(), chain));
+        assertTrue(e.getMessage().contains("budget is 1"), e.getMessage());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, token));
+    }
+
+    private TaskEntity save(String name) {
+        TaskEntity task = new TaskEntity();
+        task.setUserName(OWNER);
+        task.setTaskName(name);
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.MEDIUM);
+        return taskService.save(task);
+    }
+
+    private static String json(String name, int id) {
+        return "{\"id\":" + id + ",\"userName\":\"" + OWNER + "\",\"taskName\":\"" + name
+                + "\",\"status\":\"Pending\",\"priority\":\"Medium\"}";
+    }
+}
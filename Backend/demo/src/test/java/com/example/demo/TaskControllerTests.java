@@ -0,0 +1,467 @@
+package com.example.demo;
+
+import com.example.demo.DTO.BulkItemResult;
+import com.example.demo.DTO.RegisterRequest;
+import com.example.demo.DTO.TaskPageResponse;
+import com.example.demo.DTO.TaskResponse;
+import com.example.demo.DTO.TaskSummary;
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Repositories.UserRepository;
+import com.example.demo.Services.JWTService;
+import com.example.demo.Services.TaskService;
+import com.example.demo.Services.UserServices;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Behaviour of the task endpoints. Every test works on tasks of its own (a fresh assignee or
+ * owner), since other test classes write to the same database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskControllerTests {
+
+    private static final String OWNER = "controller-test-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private UserServices userServices;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByUsername(OWNER).isEmpty()) {
+            RegisterRequest user = new RegisterRequest();
+            user.setName("Controller Test");
+            user.setUsername(OWNER);
+            user.setPassword("controller-test-pw");
+            user.setEmail("controller-test@example.com");
+            userServices.createUser(user);
+        }
+        token = "Bearer " + jwtService.getJWTToken(OWNER);
+    }
+
+    @Test
+    void listPagesByCursorInIdOrder() throws Exception {
+        String assignee = unique("keyset");
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(save(assignee, TaskStatus.PENDING, null).getId());
+        }
+
+        TaskPageResponse first = page(assignee, 0, 2);
+        assertEquals(ids.subList(0, 2), ids(first));
+        assertEquals(ids.get(1), first.getNextCursor());
+
+        TaskPageResponse second = page(assignee, first.getNextCursor(), 2);
+        assertEquals(ids.subList(2, 4), ids(second));
+
+        TaskPageResponse last = page(assignee, second.getNextCursor(), 2);
+        assertEquals(ids.subList(4, 5), ids(last));
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void listCursorIsStableWhenEarlierRowsAreDeleted() throws Exception {
+        String assignee = unique("keyset-delete");
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(save(assignee, TaskStatus.PENDING, null).getId());
+        }
+
+        TaskPageResponse first = page(assignee, 0, 2);
+        // an offset would now skip a row; the cursor resumes after the last row already seen
+        taskService.deleteTask(ids.get(0));
+        TaskPageResponse second = page(assignee, first.getNextCursor(), 2);
+
+        assertEquals(ids.subList(2, 4), ids(second));
+    }
+
+    @Test
+    void listFilters() throws Exception {
+        String assignee = unique("keyset-filter");
+        LocalDate today = LocalDate.now();
+        int pendingToday = save(assignee, TaskStatus.PENDING, today).getId();
+        save(assignee, TaskStatus.COMPLETED, today);
+        save(assignee, TaskStatus.PENDING, today.plusDays(10));
+
+        TaskPageResponse filtered = read(get("/api/task/list")
+                .param("assignedTo", assignee)
+                .param("status", "Pending")
+                .param("dueFrom", today.minusDays(1).toString())
+                .param("dueTo", today.plusDays(1).toString()), TaskPageResponse.class);
+        assertEquals(List.of(pendingToday), ids(filtered));
+
+    }
+
+    @Test
+    void listClampsThePageSize() throws Exception {
+        String assignee = unique("keyset-size");
+        List<TaskEntity> tasks = new ArrayList<>();
+        for (int i = 0; i <= TaskService.MAX_PAGE_SIZE; i++) {
+            tasks.add(task(assignee, TaskStatus.PENDING, null));
+        }
+        taskService.createTasks(tasks);
+
+        TaskPageResponse page = page(assignee, 0, 100_000);
+        assertEquals(TaskService.MAX_PAGE_SIZE, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void exportNdjsonWritesOneTaskPerLine() throws Exception {
+        TaskEntity task = task(unique("export"), TaskStatus.IN_PROGRESS, LocalDate.of(2030, 1, 31));
+        task.setDescription("first line\nsecond line");
+        int id = taskService.save(task).getId();
+
+        MockHttpServletResponse response = stream(get("/api/task/export"));
+        assertEquals("application/x-ndjson", response.getContentType());
+        JsonNode exported = null;
+        for (String line : response.getContentAsString().split("\n")) {
+            // every line is a complete JSON document; the embedded newline stays escaped
+            JsonNode node = objectMapper.readTree(line);
+            if (node.get("id").asInt() == id) {
+                exported = node;
+            }
+        }
+        assertNotNull(exported);
+        assertEquals("first line\nsecond line", exported.get("description").asText());
+        assertEquals("In Progress", exported.get("status").asText());
+        assertEquals("2030-01-31", exported.get("dueDate").asText());
+    }
+
+    @Test
+    void exportCsvQuotesFieldsThatNeedIt() throws Exception {
+        TaskEntity task = task(unique("export-csv"), TaskStatus.PENDING, null);
+        task.setTaskName("Say \"hi\", then leave");
+        task.setDescription("two\nlines");
+        int id = taskService.save(task).getId();
+
+        MockHttpServletResponse response = stream(get("/api/task/export").param("format", "csv"));
+        assertEquals("text/csv;charset=UTF-8", response.getContentType());
+        assertEquals("attachment; filename=\"tasks.csv\"", response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        String csv = response.getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,userName,taskName,description,status,priority,dueDate,assignedTo\n"));
+        assertTrue(csv.contains("\n" + id + "," + OWNER + ",\"Say \"\"hi\"\", then leave\",\"two\nlines\",Pending,Medium,,"
+                + task.getAssignedTo() + "\n"), csv);
+    }
+
+    @Test
+    void exportRejectsUnknownFormats() throws Exception {
+        perform(get("/api/task/export").param("format", "xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkCreateReportsEveryItem() throws Exception {
+        String assignee = unique("bulk-create");
+        String body = "[" + json(assignee, "First", 999_999) + ",null," + json(assignee, "Second", 0) + "]";
+
+        BulkItemResult[] results = read(post("/api/task/bulk/create")
+                .contentType(MediaType.APPLICATION_JSON).content(body), BulkItemResult[].class);
+
+        assertEquals(List.of(BulkItemResult.Status.CREATED, BulkItemResult.Status.INVALID, BulkItemResult.Status.CREATED),
+                statuses(results));
+        assertEquals(1, results[1].getIndex());
+        // ids are always generated, whatever the client sent
+        assertNotEquals(999_999, results[0].getId());
+        assertEquals("First", taskService.getTaskById(results[0].getId()).orElseThrow().getTaskName());
+        assertEquals(List.of(results[0].getId(), results[2].getId()), ids(page(assignee, 0, 10)));
+    }
+
+    @Test
+    void bulkUpdateReportsMissingRows() throws Exception {
+        String assignee = unique("bulk-update");
+        int id = save(assignee, TaskStatus.PENDING, null).getId();
+        String body = "[" + json(assignee, "Renamed", id) + "," + json(assignee, "Nobody", Integer.MAX_VALUE) + ",null]";
+
+        BulkItemResult[] results = read(put("/api/task/bulk/update")
+                .contentType(MediaType.APPLICATION_JSON).content(body), BulkItemResult[].class);
+
+        assertEquals(List.of(BulkItemResult.Status.UPDATED, BulkItemResult.Status.NOT_FOUND, BulkItemResult.Status.INVALID),
+                statuses(results));
+        TaskEntity updated = taskService.getTaskById(id).orElseThrow();
+        assertEquals("Renamed", updated.getTaskName());
+        assertEquals(1, updated.getVersion());
+    }
+
+    @Test
+    void bulkUpdateAppliesARepeatedIdOnce() throws Exception {
+        String assignee = unique("bulk-duplicate");
+        int id = save(assignee, TaskStatus.PENDING, null).getId();
+        int other = save(assignee, TaskStatus.PENDING, null).getId();
+        String body = "[" + json(assignee, "First", id) + "," + json(assignee, "Second", id) + ","
+                + json(assignee, "Other", other) + "]";
+
+        BulkItemResult[] results = read(put("/api/task/bulk/update")
+                .contentType(MediaType.APPLICATION_JSON).content(body), BulkItemResult[].class);
+
+        assertEquals(List.of(BulkItemResult.Status.UPDATED, BulkItemResult.Status.DUPLICATE, BulkItemResult.Status.UPDATED),
+                statuses(results));
+        TaskEntity updated = taskService.getTaskById(id).orElseThrow();
+        assertEquals("First", updated.getTaskName());
+        assertEquals(1, updated.getVersion());
+        assertEquals("Other", taskService.getTaskById(other).orElseThrow().getTaskName());
+    }
+
+    @Test
+    void bulkUpdateReportsRowsChangedConcurrently() throws Exception {
+        String assignee = unique("bulk-conflict");
+        int stale = save(assignee, TaskStatus.PENDING, null).getId();
+        int fresh = save(assignee, TaskStatus.PENDING, null).getId();
+
+        List<BulkItemResult> results = new TransactionTemplate(transactionManager).execute(status -> {
+            // the bulk update finds this copy in the persistence context, at version 0...
+            entityManager.find(TaskEntity.class, stale);
+            // ...while another transaction commits version 1
+            CompletableFuture.runAsync(() -> new JdbcTemplate(dataSource).update(
+                    "UPDATE tasks SET task_name = 'Concurrent', version = version + 1 WHERE id = ?", stale)).join();
+            return taskService.updateTasks(List.of(task(stale, "Bulk"), task(fresh, "Bulk")));
+        });
+
+        assertEquals(List.of(BulkItemResult.Status.CONFLICT, BulkItemResult.Status.UPDATED),
+                results.stream().map(BulkItemResult::getStatus).toList());
+        assertEquals("Concurrent", new JdbcTemplate(dataSource).queryForObject(
+                "SELECT task_name FROM tasks WHERE id = ?", String.class, stale));
+        assertEquals("Bulk", taskService.getTaskById(fresh).orElseThrow().getTaskName());
+    }
+
+    @Test
+    void bulkDeleteReportsMissingRows() throws Exception {
+        int id = save(unique("bulk-delete"), TaskStatus.PENDING, null).getId();
+
+        BulkItemResult[] results = read(post("/api/task/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON).content("[" + id + "," + Integer.MAX_VALUE + ",null]"),
+                BulkItemResult[].class);
+
+        assertEquals(List.of(BulkItemResult.Status.DELETED, BulkItemResult.Status.NOT_FOUND, BulkItemResult.Status.INVALID),
+                statuses(results));
+        assertTrue(taskService.getTaskById(id).isEmpty());
+    }
+
+    @Test
+    void bulkRequestsOverTheLimitAreRejected() throws Exception {
+        String ids = IntStream.rangeClosed(1, TaskService.MAX_BULK_SIZE + 1).mapToObj(Integer::toString)
+                .collect(Collectors.joining(",", "[", "]"));
+        perform(post("/api/task/bulk/delete").contentType(MediaType.APPLICATION_JSON).content(ids))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchChangesOnlyTheFieldsSent() throws Exception {
+        LocalDate due = LocalDate.now().plusDays(3);
+        int id = save(unique("patch"), TaskStatus.PENDING, due).getId();
+
+        TaskResponse patched = read(patch(id, "{\"status\":\"Completed\"}"), TaskResponse.class);
+
+        assertEquals(TaskStatus.COMPLETED, patched.getStatus());
+        assertEquals("Controller test", patched.getTaskName());
+        assertEquals(TaskPriority.MEDIUM, patched.getPriority());
+        assertEquals(due, patched.getDueDate());
+        assertEquals(1, patched.getVersion());
+    }
+
+    @Test
+    void patchThatChangesNothingKeepsTheVersion() throws Exception {
+        int id = save(unique("patch-noop"), TaskStatus.PENDING, null).getId();
+
+        TaskResponse patched = read(patch(id, "{\"status\":\"Pending\",\"version\":0}"), TaskResponse.class);
+
+        assertEquals(0, patched.getVersion());
+        assertEquals(0, taskService.getTaskById(id).orElseThrow().getVersion());
+    }
+
+    @Test
+    void patchWithAStaleVersionConflicts() throws Exception {
+        int id = save(unique("patch-stale"), TaskStatus.PENDING, null).getId();
+        read(patch(id, "{\"taskName\":\"First edit\",\"version\":0}"), TaskResponse.class);
+
+        // a second client still holding version 0
+        perform(patch(id, "{\"taskName\":\"Second edit\",\"version\":0}")).andExpect(status().isConflict());
+
+        TaskEntity stored = taskService.getTaskById(id).orElseThrow();
+        assertEquals("First edit", stored.getTaskName());
+        assertEquals(1, stored.getVersion());
+    }
+
+    @Test
+    void patchOfAMissingTaskIsNotFound() throws Exception {
+        perform(patch(Integer.MAX_VALUE, "{\"taskName\":\"Nobody\"}")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void taskETagRevalidates() throws Exception {
+        int id = save(unique("etag"), TaskStatus.PENDING, null).getId();
+
+        String etag = perform(get("/api/task/getTaskById/{id}", id)).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        perform(get("/api/task/getTaskById/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        read(patch(id, "{\"taskName\":\"Changed\"}"), TaskResponse.class);
+
+        perform(get("/api/task/getTaskById/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-1\""))
+                .andExpect(jsonPath("$.taskName").value("Changed"));
+    }
+
+    @Test
+    void userTasksETagRevalidates() throws Exception {
+        String owner = unique("etag-owner");
+        TaskEntity task = task(null, TaskStatus.PENDING, null);
+        task.setUserName(owner);
+        int id = taskService.save(task).getId();
+
+        String etag = perform(get("/api/task/getByUserName/{username}", owner)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(etag.startsWith("W/\""), etag);
+        perform(get("/api/task/getByUserName/{username}", owner).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        read(patch(id, "{\"status\":\"Completed\"}"), TaskResponse.class);
+
+        String changed = perform(get("/api/task/getByUserName/{username}", owner).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("Completed"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    private TaskPageResponse page(String assignee, int cursor, int size) throws Exception {
+        return read(get("/api/task/list")
+                .param("assignedTo", assignee)
+                .param("cursor", Integer.toString(cursor))
+                .param("size", Integer.toString(size)), TaskPageResponse.class);
+    }
+
+    private static MockHttpServletRequestBuilder patch(int id, String body) {
+        return MockMvcRequestBuilders.patch("/api/task/update/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private <T> T read(MockHttpServletRequestBuilder request, Class<T> type) throws Exception {
+        String body = perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, type);
+    }
+
+    // streamed bodies are written on an async dispatch
+    private MockHttpServletResponse stream(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = perform(request).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, token));
+    }
+
+    private TaskEntity save(String assignee, TaskStatus status, LocalDate dueDate) {
+        return taskService.save(task(assignee, status, dueDate));
+    }
+
+    private static TaskEntity task(String assignee, TaskStatus status, LocalDate dueDate) {
+        TaskEntity task = new TaskEntity();
+        task.setUserName(OWNER);
+        task.setTaskName("Controller test");
+        task.setStatus(status);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setAssignedTo(assignee);
+        task.setDueDate(dueDate);
+        return task;
+    }
+
+    private static TaskEntity task(int id, String name) {
+        TaskEntity task = task(null, TaskStatus.PENDING, null);
+        task.setId(id);
+        task.setTaskName(name);
+        return task;
+    }
+
+    private static String json(String assignee, String name, int id) {
+        return "{\"id\":" + id + ",\"userName\":\"" + OWNER + "\",\"taskName\":\"" + name
+                + "\",\"status\":\"Pending\",\"priority\":\"Medium\",\"assignedTo\":\"" + assignee + "\"}";
+    }
+
+    private static List<BulkItemResult.Status> statuses(BulkItemResult[] results) {
+        return Arrays.stream(results).map(BulkItemResult::getStatus).toList();
+    }
+
+    private static String unique(String prefix) {
+        return prefix + "-" + UUID.randomUUID();
+    }
+
+    private static List<Integer> ids(TaskPageResponse page) {
+        return page.getItems().stream().map(TaskSummary::getId).toList();
+    }
+}
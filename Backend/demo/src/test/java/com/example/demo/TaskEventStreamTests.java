@@ -0,0 +1,209 @@
+package com.example.demo;
+
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Mappers.TaskMapperImpl;
+import com.example.demo.Services.TaskChangedEvent;
+import com.example.demo.Services.TaskEventStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// a stream with a small subscriber buffer and replay ring, served by a stand-in for
+// TaskController#events so the SSE frames end up in a mock response
+class TaskEventStreamTests {
+
+    private static final int BUFFER = 4;
+    private static final int REPLAY = 8;
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    private final TaskEventStream stream = new TaskEventStream(Jackson2ObjectMapperBuilder.json().build(),
+            new TaskMapperImpl(), Duration.ofMinutes(1), BUFFER, REPLAY, 1);
+    private final EventsEndpoint endpoint = new EventsEndpoint();
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(endpoint).build();
+    private int nextTaskId = 1;
+
+    @AfterEach
+    void shutDown() {
+        stream.closeSubscribers();
+        stream.destroy();
+    }
+
+    @Test
+    void sendsEachOwnerOnlyTheirChanges() throws Exception {
+        MockHttpServletResponse alice = connect("alice", null);
+        MockHttpServletResponse bob = connect("bob", null);
+
+        publish(created("alice", "alice only"));
+        publish(created("bob", "bob only"));
+        TaskEntity handedOver = task("alice", "handed over");
+        TaskEntity reassigned = TaskEntity.copyOf(handedOver);
+        reassigned.setUserName("bob");
+        // a reassignment concerns both the old and the new owner
+        publish(TaskChangedEvent.updated(handedOver, reassigned));
+
+        // frames reach a subscriber in order, so once the last one is there the others were sent
+        String aliceFrames = awaitContent(alice, "handed over");
+        String bobFrames = awaitContent(bob, "handed over");
+        assertTrue(aliceFrames.contains("alice only"));
+        assertFalse(aliceFrames.contains("bob only"));
+        assertTrue(bobFrames.contains("bob only"));
+        assertFalse(bobFrames.contains("alice only"));
+    }
+
+    @Test
+    void replaysEventsAfterLastEventId() throws Exception {
+        MockHttpServletResponse first = connect("alice", null);
+        publish(created("alice", "seen"));
+        publish(created("alice", "missed"));
+        String lastSeen = eventIds(awaitContent(first, "missed")).get(0);
+        stream.closeSubscribers();
+
+        MockHttpServletResponse resumed = connect("alice", lastSeen);
+        publish(created("alice", "live"));
+
+        String frames = awaitContent(resumed, "live");
+        assertTrue(frames.contains("missed"));
+        assertFalse(frames.contains("seen"));
+        assertFalse(frames.contains("event:reset"));
+        assertTrue(frames.indexOf("missed") < frames.indexOf("live"));
+    }
+
+    @Test
+    void resetsWhenTheReplayRingNoLongerReachesBack() throws Exception {
+        MockHttpServletResponse first = connect("alice", null);
+        publish(created("alice", "seen"));
+        String lastSeen = eventIds(awaitContent(first, "seen")).get(0);
+        stream.closeSubscribers();
+
+        // other owners' changes push alice's position out of the ring: nothing of hers is in it,
+        // but events she cannot see any more may have been hers
+        for (int i = 0; i <= REPLAY; i++) {
+            publish(created("bob", "bob " + i));
+        }
+
+        String frames = awaitContent(connect("alice", lastSeen), "event:reset");
+        assertTrue(eventIds(frames).isEmpty());
+    }
+
+    @Test
+    void resetsInsteadOfReplayingMoreThanTheBuffer() throws Exception {
+        MockHttpServletResponse first = connect("alice", null);
+        publish(created("alice", "seen"));
+        String lastSeen = eventIds(awaitContent(first, "seen")).get(0);
+        stream.closeSubscribers();
+
+        for (int i = 0; i < BUFFER; i++) {
+            publish(created("alice", "missed " + i));
+        }
+
+        String frames = awaitContent(connect("alice", lastSeen), "event:reset");
+        assertFalse(frames.contains("missed"));
+    }
+
+    @Test
+    void dropsASubscriberWhoseBufferOverflows() throws Exception {
+        MockHttpServletResponse bob = connect("bob", null);
+        MockHttpServletResponse alice = connect("alice", null);
+        awaitContent(alice, "connected");
+        assertEquals(2, stream.subscriberCount());
+
+        // SseEmitter.send synchronizes on the emitter: holding it stalls alice's writes as a slow
+        // network would, while changes keep coming
+        synchronized (endpoint.emitters.get(1)) {
+            for (int i = 0; i < BUFFER + 2; i++) {
+                publish(created("alice", "burst " + i));
+            }
+            assertEquals(1, stream.subscriberCount());
+        }
+
+        // other subscribers are unaffected
+        publish(created("bob", "after the drop"));
+        awaitContent(bob, "after the drop");
+    }
+
+    private MockHttpServletResponse connect(String owner, String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder request = get("/events").param("owner", owner);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn().getResponse();
+    }
+
+    private void publish(TaskChangedEvent event) {
+        stream.onTaskChanged(event);
+    }
+
+    private TaskChangedEvent created(String owner, String name) {
+        return TaskChangedEvent.created(task(owner, name));
+    }
+
+    private TaskEntity task(String owner, String name) {
+        TaskEntity task = new TaskEntity();
+        task.setId(nextTaskId++);
+        task.setUserName(owner);
+        task.setTaskName(name);
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        return task;
+    }
+
+    // frames are written by the stream's dispatcher thread
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            String content = response.getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(10);
+        }
+        return fail("no '" + expected + "' in " + response.getContentAsString());
+    }
+
+    private static List<String> eventIds(String frames) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = EVENT_ID.matcher(frames);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    @RestController
+    class EventsEndpoint {
+
+        private final List<SseEmitter> emitters = new ArrayList<>();
+
+        @GetMapping("/events")
+        SseEmitter events(@RequestParam String owner,
+                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+            SseEmitter emitter = stream.subscribe(owner, lastEventId);
+            emitters.add(emitter);
+            return emitter;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.demo;
+
+import com.example.demo.DTO.TaskChangeMessage;
+import com.example.demo.DTO.TaskPatchRequest;
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskOutboxEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Repositories.TaskOutboxRepository;
+import com.example.demo.Services.TaskChangedEvent;
+import com.example.demo.Services.TaskOutboxDispatcher;
+import com.example.demo.Services.TaskOutboxHandler;
+import com.example.demo.Services.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// the scheduled poll is off in the test profile; each test drives the dispatcher by hand
+@SpringBootTest(properties = {"task.outbox.backoff=0s", "task.outbox.max-attempts=3", "task.outbox.batch-size=2"})
+@ActiveProfiles("test")
+class TaskOutboxTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskOutboxRepository outboxRepository;
+
+    @Autowired
+    private TaskOutboxDispatcher dispatcher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecordingHandler handler;
+
+    @BeforeEach
+    void reset() {
+        outboxRepository.deleteAll();
+        handler.received.clear();
+        handler.failuresLeft.set(0);
+    }
+
+    @Test
+    void writesOneRowPerTransaction() {
+        taskService.createTasks(new ArrayList<>(List.of(task("a"), task("b"), task("c"))));
+
+        assertEquals(1, outboxRepository.count());
+    }
+
+    @Test
+    void rolledBackChangesLeaveNoRow() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            taskService.save(task("doomed"));
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void dispatchesInOrderWithCommittedState() {
+        TaskEntity created = taskService.save(task("first"));
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setTaskName("second");
+        taskService.patchTask(created.getId(), patch);
+
+        assertEquals(2, dispatcher.dispatchPending());
+
+        assertEquals(0, outboxRepository.count());
+        assertEquals(List.of(TaskChangedEvent.Type.CREATED, TaskChangedEvent.Type.UPDATED),
+                handler.received.stream().map(TaskChangeMessage::type).toList());
+        TaskChangeMessage update = handler.received.get(1);
+        assertEquals("first", update.before().getTaskName());
+        assertEquals("second", update.after().getTaskName());
+        assertEquals(1, update.after().getVersion());
+    }
+
+    @Test
+    void failedRowIsRetriedAndHoldsBackLaterChangesOfTheSameTask() {
+        TaskEntity created = taskService.save(task("x"));
+        taskService.deleteTask(created.getId());
+        taskService.save(task("unrelated"));
+        handler.failuresLeft.set(1);
+
+        // the create fails, the delete of the same task must wait, the unrelated task goes through
+        assertEquals(1, dispatcher.dispatchPending());
+        assertEquals(List.of("unrelated"), handler.received.stream().map(e -> e.after().getTaskName()).toList());
+        assertEquals(2, outboxRepository.count());
+
+        assertEquals(2, dispatcher.dispatchPending());
+        assertEquals(List.of(TaskChangedEvent.Type.CREATED, TaskChangedEvent.Type.CREATED, TaskChangedEvent.Type.DELETED),
+                handler.received.stream().map(TaskChangeMessage::type).toList());
+        assertEquals(1, dispatcher.stats().retried());
+    }
+
+    @Test
+    void rowsWaitingForARetryDoNotHoldBackOtherTasks() {
+        TaskEntity waiting = taskService.save(task("waiting"));
+        taskService.deleteTask(waiting.getId());
+        taskService.save(task("unrelated"));
+        // the first full batch is the waiting task's two rows, neither of them due
+        List<TaskOutboxEntity> rows = outboxRepository.findAll(Sort.by("id"));
+        rows.stream().limit(2).forEach(row -> row.setNextAttemptAt(LocalDateTime.now().plusHours(1)));
+        outboxRepository.saveAll(rows);
+
+        assertEquals(1, dispatcher.dispatchPending());
+        assertEquals(List.of("unrelated"), handler.received.stream().map(e -> e.after().getTaskName()).toList());
+        assertEquals(2, outboxRepository.count());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        taskService.save(task("poison"));
+        handler.failuresLeft.set(Integer.MAX_VALUE);
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatchPending();
+        }
+
+        assertEquals(0, outboxRepository.countByStatus(TaskOutboxEntity.Status.PENDING));
+        assertEquals(1, outboxRepository.countByStatus(TaskOutboxEntity.Status.DEAD));
+    }
+
+    private static TaskEntity task(String name) {
+        TaskEntity task = new TaskEntity();
+        task.setUserName("outbox-user");
+        task.setTaskName(name);
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        return task;
+    }
+
+    static class RecordingHandler implements TaskOutboxHandler {
+
+        final List<TaskChangeMessage> received = new ArrayList<>();
+        final AtomicInteger failuresLeft = new AtomicInteger();
+
+        @Override
+        public void handle(List<TaskChangeMessage> changes) {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+            received.addAll(changes);
+        }
+    }
+
+    @TestConfiguration
+    static class Handlers {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.demo;
+
+import com.example.demo.DTO.TaskPatchRequest;
+import com.example.demo.DTO.TaskSearchHit;
+import com.example.demo.DTO.TaskSearchResponse;
+import com.example.demo.DTO.TaskSummary;
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Repositories.TaskRepository;
+import com.example.demo.Services.TaskChangedEvent;
+import com.example.demo.Services.TaskSearchService;
+import com.example.demo.Services.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskSearchTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSearchService searchService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void waitForIndex() {
+        // the startup rebuild runs in the background; rebuilds are serialized, so this waits for it
+        searchService.rebuild().join();
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() throws IOException {
+        int inDescription = save("search-rank", "Weekly sync", "prepare the quarterly invoice run").getId();
+        int inName = save("search-rank", "Quarterly invoice", "send to finance").getId();
+
+        assertEquals(List.of(inName, inDescription), ids(search("quarterly invoice", "search-rank")));
+    }
+
+    @Test
+    void filtersByOwner() throws IOException {
+        int mine = save("search-owner-a", "Renew certificate", null).getId();
+        save("search-owner-b", "Renew certificate", null);
+
+        assertEquals(List.of(mine), ids(search("certificate", "search-owner-a")));
+        assertEquals(2, search("certificate", null).getTotal());
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() throws IOException {
+        TaskEntity task = save("search-sync", "Draft roadmap", null);
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setTaskName("Publish roadmap");
+        taskService.patchTask(task.getId(), patch);
+        searchService.refresh();
+
+        assertTrue(search("draft", "search-sync").getHits().isEmpty());
+        assertEquals(List.of(task.getId()), ids(search("publish", "search-sync")));
+
+        taskService.deleteTask(task.getId());
+        searchService.refresh();
+        assertTrue(search("roadmap", "search-sync").getHits().isEmpty());
+    }
+
+    @Test
+    void pages() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            save("search-page", "Review pull request " + i, null);
+        }
+
+        TaskSearchResponse second = searchService.search("review", "search-page", 1, 2);
+        assertEquals(2, second.getHits().size());
+        assertEquals(5, second.getTotal());
+        assertEquals(1, searchService.search("review", "search-page", 2, 2).getHits().size());
+    }
+
+    @Test
+    void liveIndexServesSearchesAndWritesWhileARebuildRuns() throws Exception {
+        int existing = save("search-swap", "Rotate credentials", null).getId();
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean gated = new AtomicBoolean();
+        TaskService pausingTaskService = new TaskService() {
+            @Override
+            public void forEachTask(Consumer<TaskEntity> action) {
+                if (gated.get()) {
+                    building.countDown();
+                    await(release);
+                }
+                taskService.forEachTask(action);
+            }
+        };
+        TaskSearchService search = new TaskSearchService(pausingTaskService, taskRepository, "");
+        try {
+            search.rebuild().join();
+            gated.set(true);
+            CompletableFuture<Void> rebuild = search.rebuild();
+            assertTrue(building.await(5, TimeUnit.SECONDS));
+
+            search.refresh();
+            assertEquals(List.of(existing), ids(search.search("credentials", "search-swap", 0, 10)));
+            TaskEntity added = save("search-swap", "Rotate credentials again", null);
+            search.onTaskChanged(TaskChangedEvent.created(added));
+            search.refresh();
+            assertEquals(2, search.search("credentials", "search-swap", 0, 10).getTotal());
+
+            release.countDown();
+            rebuild.get(10, TimeUnit.SECONDS);
+            // the change held back during the build is in the new index exactly once
+            assertEquals(2, search.search("credentials", "search-swap", 0, 10).getTotal());
+        } finally {
+            release.countDown();
+            search.destroy();
+        }
+    }
+
+    @Test
+    void rebuildReplacesTheOnDiskGeneration(@TempDir Path dir) throws Exception {
+        save("search-disk", "Archive logs", null);
+        TaskSearchService search = new TaskSearchService(taskService, taskRepository, dir.toString());
+        try {
+            search.rebuild().join();
+            search.rebuild().join();
+
+            try (Stream<Path> generations = Files.list(dir)) {
+                assertEquals(1, generations.count());
+            }
+            assertEquals(1, search.search("archive", "search-disk", 0, 10).getTotal());
+        } finally {
+            search.destroy();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TaskEntity save(String owner, String name, String description) {
+        TaskEntity task = new TaskEntity();
+        task.setUserName(owner);
+        task.setTaskName(name);
+        task.setDescription(description);
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.MEDIUM);
+        TaskEntity saved = taskService.save(task);
+        searchService.refresh();
+        return saved;
+    }
+
+    private TaskSearchResponse search(String query, String owner) throws IOException {
+        return searchService.search(query, owner, 0, TaskSearchService.DEFAULT_PAGE_SIZE);
+    }
+
+    private static List<Integer> ids(TaskSearchResponse response) {
+        return response.getHits().stream().map(TaskSearchHit::getTask).map(TaskSummary::getId).toList();
+    }
+}
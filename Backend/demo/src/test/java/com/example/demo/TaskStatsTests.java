@@ -0,0 +1,125 @@
+package com.example.demo;
+
+import com.example.demo.DTO.TaskPatchRequest;
+import com.example.demo.DTO.TaskStatsResponse;
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Repositories.TaskRepository;
+import com.example.demo.Services.TaskChangedEvent;
+import com.example.demo.Services.TaskService;
+import com.example.demo.Services.TaskStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskStatsTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService statsService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void syncWithDatabase() {
+        // other cached test contexts write to the same database without this context seeing it
+        statsService.reconcile();
+    }
+
+    @Test
+    void countsFollowWrites() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        TaskEntity late = save("stats-user", TaskStatus.PENDING, TaskPriority.HIGH, yesterday);
+        save("stats-user", TaskStatus.IN_PROGRESS, TaskPriority.HIGH, LocalDate.now().plusDays(3));
+        TaskEntity done = save("stats-user", TaskStatus.COMPLETED, TaskPriority.LOW, yesterday);
+
+        TaskStatsResponse stats = statsService.getStats("stats-user");
+        assertEquals(3, stats.getTotal());
+        assertEquals(1, stats.getByStatus().get("Pending"));
+        assertEquals(1, stats.getByStatus().get("Completed"));
+        assertEquals(2, stats.getByPriority().get("High"));
+        assertEquals(1, stats.getOverdue());
+
+        TaskPatchRequest complete = new TaskPatchRequest();
+        complete.setStatus(TaskStatus.COMPLETED);
+        taskService.patchTask(late.getId(), complete);
+        taskService.deleteTask(done.getId());
+
+        stats = statsService.getStats("stats-user");
+        assertEquals(2, stats.getTotal());
+        assertEquals(0, stats.getByStatus().get("Pending"));
+        assertEquals(1, stats.getByStatus().get("Completed"));
+        assertEquals(0, stats.getOverdue());
+    }
+
+    @Test
+    void incrementalCountersMatchAFreshGroupBy() {
+        save("stats-reconcile", TaskStatus.PENDING, TaskPriority.MEDIUM, LocalDate.now().minusDays(2));
+        TaskEntity moved = save("stats-reconcile", TaskStatus.PENDING, TaskPriority.CRITICAL, null);
+        TaskPatchRequest reassign = new TaskPatchRequest();
+        reassign.setUserName("stats-reconcile-other");
+        taskService.patchTask(moved.getId(), reassign);
+
+        TaskStatsResponse incremental = statsService.getStats(null);
+        TaskStatsResponse user = statsService.getStats("stats-reconcile");
+        statsService.reconcile();
+
+        assertEquals(incremental, statsService.getStats(null));
+        assertEquals(user, statsService.getStats("stats-reconcile"));
+        assertEquals(1, statsService.getStats("stats-reconcile-other").getTotal());
+    }
+
+    @Test
+    void changeCommittedBeforeTheRebuildQueryIsNotCountedTwice() {
+        // a standalone instance whose GROUP BY first lets another transaction commit a task, and
+        // delivers that commit's event while the rebuild is collecting: the snapshot includes it
+        TaskStatsService[] stats = new TaskStatsService[1];
+        TaskRepository racing = (TaskRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{TaskRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("countByOwnerStatusPriorityAndDueDate")) {
+                        TaskEntity saved = CompletableFuture.supplyAsync(() ->
+                                save("stats-race", TaskStatus.PENDING, TaskPriority.LOW, null)).join();
+                        stats[0].onTaskChanged(TaskChangedEvent.created(saved));
+                    }
+                    try {
+                        return method.invoke(taskRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        stats[0] = new TaskStatsService(racing, transactionManager);
+
+        stats[0].reconcile();
+
+        assertEquals(1, stats[0].getStats("stats-race").getTotal());
+    }
+
+    private TaskEntity save(String owner, TaskStatus status, TaskPriority priority, LocalDate dueDate) {
+        TaskEntity task = new TaskEntity();
+        task.setUserName(owner);
+        task.setTaskName("stats");
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setDueDate(dueDate);
+        return taskService.save(task);
+    }
+}
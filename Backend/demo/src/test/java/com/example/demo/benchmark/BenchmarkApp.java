@@ -0,0 +1,158 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Entities.TaskPriority;
+import com.example.demo.Entities.TaskStatus;
+import com.example.demo.Entities.UserEntity;
+import com.example.demo.Repositories.UserRepository;
+import com.example.demo.Services.JWTService;
+import com.example.demo.Services.TaskService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Boots the whole application on a random port against its own in-memory H2 database and seeds
+ * one user with a set of tasks, so benchmarks exercise the real filter chain and controllers.
+ * With {@code -Dbenchmark.jdbcUrl} (plus {@code benchmark.jdbcUser} and
+ * {@code benchmark.jdbcPassword}) every run uses that MySQL database instead; runs then share
+ * its data, so seeded tasks accumulate.
+ */
+final class BenchmarkApp implements AutoCloseable {
+
+    static final String USERNAME = "bench";
+    static final String PASSWORD = "bench-password";
+    private static final String JDBC_URL = System.getProperty("benchmark.jdbcUrl");
+
+    private final ConfigurableApplicationContext context;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl;
+    private List<Integer> taskIds = List.of();
+
+    private BenchmarkApp(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    /**
+     * @param name     unique per run; used as the H2 database name
+     * @param profiles Spring profiles on top of "test"
+     * @param args     extra --property=value overrides
+     */
+    static BenchmarkApp start(String name, List<String> profiles, String... args) {
+        List<String> allProfiles = new ArrayList<>();
+        allProfiles.add("test");
+        allProfiles.addAll(profiles);
+        String[] defaults = JDBC_URL == null ? new String[]{
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + name.replaceAll("\\W", "_")
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+        } : new String[]{
+                "--server.port=0",
+                "--spring.datasource.url=" + JDBC_URL,
+                "--spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+                "--spring.datasource.username=" + System.getProperty("benchmark.jdbcUser", "root"),
+                "--spring.datasource.password=" + System.getProperty("benchmark.jdbcPassword", "")
+        };
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles(allProfiles.toArray(String[]::new))
+                .run(Stream.concat(Arrays.stream(defaults), Arrays.stream(args)).toArray(String[]::new));
+        return new BenchmarkApp(context);
+    }
+
+    BenchmarkApp seed(int taskCount) {
+        UserRepository users = bean(UserRepository.class);
+        if (users.findByUsername(USERNAME).isEmpty()) {
+            UserEntity user = new UserEntity();
+            user.setName("Bench User");
+            user.setUsername(USERNAME);
+            user.setEmail("bench@example.com");
+            user.setPassword(bean(PasswordEncoder.class).encode(PASSWORD));
+            users.save(user);
+        }
+
+        List<TaskEntity> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            TaskEntity task = new TaskEntity();
+            task.setUserName(USERNAME);
+            task.setTaskName("Benchmark task " + i);
+            task.setDescription("Seeded task number " + i + " for load benchmarks");
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+            task.setDueDate(LocalDate.now().plusDays(i % 60 - 30));
+            task.setAssignedTo(USERNAME);
+            tasks.add(task);
+        }
+        taskIds = bean(TaskService.class).createTasks(tasks).stream().map(r -> r.getId()).toList();
+        return this;
+    }
+
+    String token() {
+        return bean(JWTService.class).getJWTToken(USERNAME);
+    }
+
+    List<Integer> taskIds() {
+        return taskIds;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    boolean get(String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+
+    /**
+     * Fetches {@code path} and returns the body size as sent on the wire (compressed when
+     * {@code gzip} is set and the server chose to), or -1 unless the status is 200.
+     */
+    long download(String path, String token, boolean gzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET();
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return response.statusCode() == 200 ? response.body().length : -1;
+    }
+
+    /** Sends an authenticated JSON request and returns the status code. */
+    int sendJson(String method, String path, String token, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    boolean postJson(String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes benchmark results to {@code target/benchmarks/<file>} so runs can be compared.
+ */
+final class BenchmarkReport {
+
+    private BenchmarkReport() {
+    }
+
+    static Path write(String file, List<?> results) throws IOException {
+        Path dir = Path.of("target", "benchmarks");
+        Files.createDirectories(dir);
+        Path out = dir.resolve(file);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), results);
+        System.out.println("Benchmark results written to " + out.toAbsolutePath());
+        return out;
+    }
+}
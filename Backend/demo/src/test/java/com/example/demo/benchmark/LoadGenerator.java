@@ -0,0 +1,105 @@
+package com.example.demo.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load generator: {@code concurrency} workers send requests back to back for the
+ * warmup period (discarded) and then for the measured period. A request counts as an error when
+ * it throws or returns {@code false}.
+ */
+final class LoadGenerator {
+
+    static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 256);
+    static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("benchmark.warmupSeconds", 5));
+    static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("benchmark.durationSeconds", 15));
+
+    private LoadGenerator() {
+    }
+
+    static LoadResult run(String name, Callable<Boolean> request) throws Exception {
+        return run(name, CONCURRENCY, WARMUP, DURATION, request);
+    }
+
+    static LoadResult run(String name, int concurrency, Duration warmup, Duration duration,
+                          Callable<Boolean> request) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Samples>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                Samples samples = new Samples();
+                long now = System.nanoTime();
+                while (now < end) {
+                    boolean ok;
+                    try {
+                        ok = request.call();
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    long done = System.nanoTime();
+                    if (now >= measureFrom) {
+                        samples.add(done - now, ok);
+                    }
+                    now = done;
+                }
+                return samples;
+            }));
+        }
+
+        Samples all = new Samples();
+        for (Future<Samples> future : futures) {
+            all.addAll(future.get());
+        }
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+
+        long[] latencies = Arrays.copyOf(all.latencies, all.size);
+        Arrays.sort(latencies);
+        double seconds = duration.toNanos() / 1e9;
+        return new LoadResult(name, concurrency, all.size, all.errors, seconds, all.size / seconds,
+                percentileMs(latencies, 0.50), percentileMs(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Samples {
+        long[] latencies = new long[1024];
+        int size;
+        long errors;
+
+        void add(long latencyNanos, boolean ok) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+    }
+}
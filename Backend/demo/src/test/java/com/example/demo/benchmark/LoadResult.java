@@ -0,0 +1,20 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+
+/**
+ * Outcome of one {@link LoadGenerator} run. Latencies are in milliseconds.
+ */
+public record LoadResult(String name, int concurrency, long requests, long errors, double seconds,
+                         double throughput, double p50Ms, double p99Ms, double maxMs) {
+
+    static void print(List<LoadResult> results) {
+        System.out.printf("%n%-28s %6s %10s %8s %12s %9s %9s %9s%n",
+                "scenario", "conc", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (LoadResult r : results) {
+            System.out.printf("%-28s %6d %10d %8d %12.1f %9.2f %9.2f %9.2f%n",
+                    r.name(), r.concurrency(), r.requests(), r.errors(), r.throughput(), r.p50Ms(), r.p99Ms(), r.maxMs());
+        }
+        System.out.println();
+    }
+}
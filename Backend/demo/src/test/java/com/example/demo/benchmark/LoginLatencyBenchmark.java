@@ -0,0 +1,48 @@
+package com.example.demo.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Latency of POST /auth/login and the number of SQL statements one login issues. BCrypt cost is
+ * dropped to the minimum so the database part of the login path is not hidden behind hashing.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+class LoginLatencyBenchmark {
+
+    private static final String LOGIN_BODY =
+            "{\"username\":\"" + BenchmarkApp.USERNAME + "\",\"password\":\"" + BenchmarkApp.PASSWORD + "\"}";
+
+    @Test
+    void loginIsOneQuery() throws Exception {
+        try (BenchmarkApp app = BenchmarkApp.start("login", List.of(),
+                "--security.password.bcrypt-strength=4",
+                "--security.login.rate-limit.per-username=1000000000",
+                "--security.login.rate-limit.per-ip=1000000000",
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn").seed(0)) {
+
+            Statistics statistics = app.bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            int logins = 50;
+            statistics.clear();
+            for (int i = 0; i < logins; i++) {
+                app.postJson("/auth/login", LOGIN_BODY);
+            }
+            long statementsPerLogin = statistics.getPrepareStatementCount() / logins;
+            System.out.println("SQL statements per login: " + statementsPerLogin);
+
+            LoadResult result = LoadGenerator.run("login", 4, LoadGenerator.WARMUP, LoadGenerator.DURATION,
+                    () -> app.postJson("/auth/login", LOGIN_BODY));
+            LoadResult.print(List.of(result));
+            BenchmarkReport.write("login-latency.json", List.of(result));
+
+            assertEquals(1, statementsPerLogin);
+        }
+    }
+}
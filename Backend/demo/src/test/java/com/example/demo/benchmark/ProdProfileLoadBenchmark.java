@@ -0,0 +1,62 @@
+package com.example.demo.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Throughput of a mixed read/write workload on the default settings versus the "prod" profile
+ * (fixed HikariCP pool with autocommit off, statement caching, IN-list padding, no
+ * open-in-view). Both legs run the same requests: 75% reads by id, by owner and paged, 20%
+ * single-field patches and 5% bulk creates of 10 tasks for another owner. A 409 from two patches racing on one
+ * task is not counted as an error.
+ * <p>
+ * Runs on in-memory H2 in MySQL mode by default, where the Connector/J statement cache does not
+ * apply; pass {@code -Dbenchmark.jdbcUrl=jdbc:mysql://localhost:3306/task_bench} (and
+ * {@code -Dbenchmark.jdbcUser}, {@code -Dbenchmark.jdbcPassword}) to measure against a local
+ * MySQL. Results go to {@code target/benchmarks/prod-profile.json}.
+ */
+class ProdProfileLoadBenchmark {
+
+    private static final int TASKS = 1000;
+    // owned by another user so the list read by getByUserName keeps its size during the run
+    private static final String BULK_CREATE = "[" + String.join(",", Collections.nCopies(10,
+            "{\"userName\":\"bench-bulk\",\"taskName\":\"Bulk\",\"status\":\"PENDING\",\"priority\":\"LOW\"}"))
+            + "]";
+
+    @Test
+    void defaultsVersusProdProfile() throws Exception {
+        List<LoadResult> results = new ArrayList<>();
+        results.add(run("defaults", List.of()));
+        results.add(run("prod", List.of("prod")));
+        LoadResult.print(results);
+        BenchmarkReport.write("prod-profile.json", results);
+    }
+
+    private LoadResult run(String name, List<String> profiles) throws Exception {
+        try (BenchmarkApp app = BenchmarkApp.start("profile-" + name, profiles).seed(TASKS)) {
+            String token = app.token();
+            List<Integer> ids = app.taskIds();
+            return LoadGenerator.run(name, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int id = ids.get(random.nextInt(ids.size()));
+                int roll = random.nextInt(100);
+                if (roll < 35) {
+                    return app.get("/api/task/getTaskById/" + id, token);
+                } else if (roll < 55) {
+                    return app.get("/api/task/getByUserName/" + BenchmarkApp.USERNAME, token);
+                } else if (roll < 75) {
+                    return app.get("/api/task/list?size=50&cursor=" + id, token);
+                } else if (roll < 95) {
+                    int status = app.sendJson("PATCH", "/api/task/update/" + id, token,
+                            "{\"description\":\"patched " + random.nextInt() + "\"}");
+                    return status == 200 || status == 409;
+                }
+                return app.sendJson("POST", "/api/task/bulk/create", token, BULK_CREATE) == 200;
+            });
+        }
+    }
+}
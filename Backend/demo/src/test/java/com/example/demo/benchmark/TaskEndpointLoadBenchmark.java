@@ -0,0 +1,44 @@
+package com.example.demo.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Throughput and p99 latency of the task read endpoints with Tomcat on platform threads versus
+ * virtual threads (Spring profile "virtual-threads"). Run with {@code mvn test -Pbenchmark}; the
+ * virtual-thread leg needs a Java 21 runtime ({@code -Pbenchmark,java21} on JDK 21). Tune with
+ * -Dbenchmark.concurrency, -Dbenchmark.warmupSeconds and -Dbenchmark.durationSeconds.
+ */
+class TaskEndpointLoadBenchmark {
+
+    private static final int TASKS = 100;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        List<LoadResult> results = new ArrayList<>();
+        results.add(run("platform-threads", List.of()));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run("virtual-threads", List.of("virtual-threads")));
+        } else {
+            System.out.println("virtual-threads leg skipped: needs a Java 21 runtime, running on "
+                    + Runtime.version());
+        }
+        LoadResult.print(results);
+        BenchmarkReport.write("task-endpoints-threading.json", results);
+    }
+
+    private LoadResult run(String name, List<String> profiles) throws Exception {
+        try (BenchmarkApp app = BenchmarkApp.start(name, profiles).seed(TASKS)) {
+            String token = app.token();
+            List<Integer> ids = app.taskIds();
+            return LoadGenerator.run(name, () -> switch (ThreadLocalRandom.current().nextInt(3)) {
+                case 0 -> app.get("/api/task/getTaskById/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())), token);
+                case 1 -> app.get("/api/task/getByUserName/" + BenchmarkApp.USERNAME, token);
+                default -> app.get("/api/task/list?size=50", token);
+            });
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload size and time to last byte of the list endpoints for one user with
+ * {@code -Dbenchmark.payloadTasks} (default 50,000) tasks, with and without
+ * {@code Accept-Encoding: gzip}. {@code /getAll} is streamed from a cursor; {@code /getByUserName}
+ * is serialized from the cached list. Few workers, since each response is several megabytes.
+ */
+class TaskPayloadBenchmark {
+
+    private static final int TASKS = Integer.getInteger("benchmark.payloadTasks", 50_000);
+    private static final int CONCURRENCY = 4;
+
+    record PayloadResult(String name, boolean gzip, long bytes, LoadResult load) {
+    }
+
+    @Test
+    void listPayloads() throws Exception {
+        try (BenchmarkApp app = BenchmarkApp.start("payload", List.of()).seed(TASKS)) {
+            String token = app.token();
+            List<PayloadResult> results = new ArrayList<>();
+            Map<String, String> endpoints = new LinkedHashMap<>();
+            endpoints.put("getAll", "/api/task/getAll");
+            endpoints.put("getByUserName", "/api/task/getByUserName/" + BenchmarkApp.USERNAME);
+            for (Map.Entry<String, String> endpoint : endpoints.entrySet()) {
+                String path = endpoint.getValue();
+                for (boolean gzip : new boolean[]{false, true}) {
+                    String name = endpoint.getKey() + (gzip ? " gzip" : " identity");
+                    long bytes = app.download(path, token, gzip);
+                    LoadResult load = LoadGenerator.run(name, CONCURRENCY, LoadGenerator.WARMUP,
+                            LoadGenerator.DURATION, () -> app.download(path, token, gzip) == bytes);
+                    results.add(new PayloadResult(name, gzip, bytes, load));
+                }
+            }
+
+            System.out.printf("%n%-28s %14s%n", "scenario", "bytes");
+            for (PayloadResult r : results) {
+                System.out.printf("%-28s %,14d%n", r.name(), r.bytes());
+            }
+            LoadResult.print(results.stream().map(PayloadResult::load).toList());
+            BenchmarkReport.write("task-payload.json", results);
+        }
+    }
+}
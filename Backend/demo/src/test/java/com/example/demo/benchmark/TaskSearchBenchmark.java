@@ -0,0 +1,105 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Entities.TaskEntity;
+import com.example.demo.Services.TaskSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Query latency of {@link TaskSearchIndex} at production scale: indexes
+ * {@code -Dbenchmark.searchDocs} (default 1,000,000) synthetic tasks on the heap and runs
+ * single-term, multi-term and owner-filtered queries from one thread (per-query latency) and
+ * from {@code -Dbenchmark.concurrency} threads (throughput). Task text and query terms are drawn
+ * from a Zipf-distributed vocabulary, so common words dominate both, as in real text.
+ */
+class TaskSearchBenchmark {
+
+    private static final int DOCS = Integer.getInteger("benchmark.searchDocs", 1_000_000);
+    private static final int OWNERS = 10_000;
+    private static final int VOCABULARY = 20_000;
+    private static final String[] COMMON_WORDS = ("review deploy invoice report meeting roadmap budget hiring release "
+            + "migration database backend frontend design customer support incident audit security "
+            + "onboarding training contract renewal vendor payroll quarterly weekly monthly urgent draft "
+            + "publish update cleanup refactor performance dashboard analytics marketing campaign sales "
+            + "forecast inventory shipping billing feedback survey interview sprint retro planning").split(" ");
+
+    private static final String[] WORDS = new String[VOCABULARY];
+    private static final double[] CUMULATIVE = new double[VOCABULARY];
+
+    static {
+        double sum = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            WORDS[rank] = rank < COMMON_WORDS.length ? COMMON_WORDS[rank] : "term" + rank;
+            sum += 1.0 / (rank + 1);
+            CUMULATIVE[rank] = sum;
+        }
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            CUMULATIVE[rank] /= sum;
+        }
+    }
+
+    @Test
+    void queryLatencyAtScale() throws Exception {
+        try (TaskSearchIndex index = new TaskSearchIndex(null)) {
+            long start = System.nanoTime();
+            SplittableRandom random = new SplittableRandom(42);
+            TaskEntity task = new TaskEntity();
+            for (int i = 1; i <= DOCS; i++) {
+                task.setId(i);
+                task.setUserName("user" + random.nextInt(OWNERS));
+                task.setTaskName(words(random, 3));
+                task.setDescription(words(random, 12));
+                index.index(task);
+            }
+            index.merge();
+            index.refresh();
+            System.out.printf("Indexed %d tasks in %d ms%n", DOCS, (System.nanoTime() - start) / 1_000_000);
+
+            List<LoadResult> results = new ArrayList<>();
+            for (int concurrency : new int[]{1, LoadGenerator.CONCURRENCY}) {
+                results.add(run(index, "one term", concurrency, r -> word(r.nextDouble()), false));
+                results.add(run(index, "two terms", concurrency,
+                        r -> word(r.nextDouble()) + " " + word(r.nextDouble()), false));
+                results.add(run(index, "two terms + owner", concurrency,
+                        r -> word(r.nextDouble()) + " " + word(r.nextDouble()), true));
+            }
+            LoadResult.print(results);
+            BenchmarkReport.write("task-search.json", results);
+        }
+    }
+
+    private interface QueryText {
+        String next(ThreadLocalRandom random);
+    }
+
+    private static LoadResult run(TaskSearchIndex index, String name, int concurrency, QueryText query,
+                                  boolean byOwner) throws Exception {
+        return LoadGenerator.run(name, concurrency, LoadGenerator.WARMUP, LoadGenerator.DURATION, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String owner = byOwner ? "user" + random.nextInt(OWNERS) : null;
+            index.search(query.next(random), owner, 0, 20);
+            return true;
+        });
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(word(random.nextDouble()));
+        }
+        return text.toString();
+    }
+
+    private static String word(double uniform) {
+        int rank = Arrays.binarySearch(CUMULATIVE, uniform);
+        return WORDS[Math.min(VOCABULARY - 1, rank >= 0 ? rank : -rank - 1)];
+    }
+}